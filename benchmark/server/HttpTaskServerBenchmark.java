@@ -0,0 +1,121 @@
+package server;
+
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.BenchmarkData;
+import service.ManagerType;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpTaskServerBenchmark {
+    @Param({"IN_MEMORY", "CONCURRENT", "FILE_BACKED_SNAPSHOT", "FILE_BACKED_JOURNAL"})
+    private ManagerType managerType;
+
+    @Param({"1000"})
+    private int tasksCount;
+
+    @Param({"DISPATCHER_THREAD", "VIRTUAL_THREAD_PER_REQUEST"})
+    private ExecutorMode executorMode;
+
+    private Path fileStorage;
+    private TaskManager taskManager;
+    private HttpTaskServer taskServer;
+    private HttpClient client;
+    private String baseUri;
+    private String taskJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        fileStorage = Files.createTempFile("tasks-benchmark", ".csv");
+        taskManager = BenchmarkData.createManager(
+                managerType,
+                fileStorage,
+                manager -> BenchmarkData.fillTasks(manager, tasksCount)
+        );
+        taskServer = new HttpTaskServer(
+                taskManager,
+                new InetSocketAddress("localhost", 0),
+                0,
+                executorMode,
+                Runtime.getRuntime().availableProcessors()
+        );
+        taskServer.start();
+        client = HttpClient.newHttpClient();
+        baseUri = "http://localhost:" + taskServer.getAddress().getPort();
+        taskJson = taskServer.getGson().toJson(BenchmarkData.newTask(tasksCount));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        taskServer.stop();
+        BenchmarkData.closeManager(taskManager, fileStorage);
+    }
+
+    @Benchmark
+    public String getTaskById() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder()
+                .uri(URI.create(baseUri + "/tasks/" + (ThreadLocalRandom.current().nextInt(tasksCount) + 1)))
+                .GET()
+                .build());
+    }
+
+    @Benchmark
+    public String getPrioritizedTasksPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder()
+                .uri(URI.create(baseUri + "/prioritized?limit=100"))
+                .GET()
+                .build());
+    }
+
+    @Benchmark
+    public String createAndRemoveTask() throws IOException, InterruptedException {
+        String response = send(HttpRequest.newBuilder()
+                .uri(URI.create(baseUri + "/tasks"))
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson))
+                .build());
+        Task task = taskServer.getGson().fromJson(response, Task.class);
+
+        return send(HttpRequest.newBuilder()
+                .uri(URI.create(baseUri + "/tasks/" + task.getId()))
+                .DELETE()
+                .build());
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Неожиданный код ответа: " + response.statusCode());
+        }
+
+        return response.body();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package service;
+
+import model.Task;
+import model.TaskStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class BenchmarkData {
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long TASK_STEP_MINUTES = 2;
+    private static final List<String> STORAGE_FILE_SUFFIXES = List.of(
+            ".journal",
+            ".prev",
+            ".checksum",
+            ".corrupt",
+            ".history"
+    );
+
+    private BenchmarkData() {
+
+    }
+
+    public static Task newTask(int index) {
+        return new Task(
+                "Title " + index,
+                "Description " + index,
+                TaskStatus.NEW,
+                START_TIME.plusMinutes(TASK_STEP_MINUTES * index),
+                Duration.ofMinutes(1)
+        );
+    }
+
+    public static void fillTasks(TaskManager taskManager, int tasksCount) {
+        for (int i = 0; i < tasksCount; i++) {
+            taskManager.createTask(newTask(i));
+        }
+    }
+
+    public static TaskManager createManager(ManagerType managerType, Path fileStorage, Consumer<TaskManager> filler) {
+        switch (managerType) {
+            case IN_MEMORY:
+                TaskManager inMemoryTaskManager = new InMemoryTaskManager();
+                filler.accept(inMemoryTaskManager);
+                return inMemoryTaskManager;
+
+            case CONCURRENT:
+                TaskManager concurrentTaskManager = new ConcurrentTaskManager();
+                filler.accept(concurrentTaskManager);
+                return concurrentTaskManager;
+
+            case FILE_BACKED_SNAPSHOT:
+                fillStorage(fileStorage, SnapshotFormat.CSV, filler);
+                return FileBackedTaskManager.loadFromFile(fileStorage, StorageMode.SNAPSHOT);
+
+            case FILE_BACKED_JOURNAL:
+                fillStorage(fileStorage, SnapshotFormat.CSV, filler);
+                return FileBackedTaskManager.loadFromFile(fileStorage, StorageMode.JOURNAL);
+
+            case FILE_BACKED_SEGMENTED:
+                fillStorage(fileStorage, SnapshotFormat.CSV, filler);
+                return FileBackedTaskManager.loadFromFile(fileStorage, StorageMode.SEGMENTED);
+
+            case FILE_BACKED_ASYNC:
+                fillStorage(fileStorage, SnapshotFormat.CSV, filler);
+                return FileBackedTaskManager.loadFromFile(fileStorage, StorageMode.ASYNC);
+
+            default:
+                throw new IllegalArgumentException("Неизвестный тип менеджера: " + managerType);
+        }
+    }
+
+    public static void fillStorage(Path fileStorage, SnapshotFormat snapshotFormat, Consumer<TaskManager> filler) {
+        try (FileBackedTaskManager loader = new FileBackedTaskManager(
+                fileStorage,
+                StorageMode.JOURNAL,
+                Integer.MAX_VALUE
+        )) {
+            filler.accept(loader);
+        }
+
+        FileBackedTaskManager.loadFromFile(fileStorage, StorageMode.SNAPSHOT, snapshotFormat).close();
+    }
+
+    public static void closeManager(TaskManager taskManager, Path fileStorage) throws IOException {
+        if (taskManager instanceof FileBackedTaskManager) {
+            ((FileBackedTaskManager) taskManager).close();
+        }
+
+        Files.deleteIfExists(fileStorage);
+
+        for (String suffix : STORAGE_FILE_SUFFIXES) {
+            Files.deleteIfExists(fileStorage.resolveSibling(fileStorage.getFileName() + suffix));
+        }
+
+        Path segmentsDirectory = fileStorage.resolveSibling(fileStorage.getFileName() + ".segments");
+
+        if (Files.exists(segmentsDirectory)) {
+            try (Stream<Path> files = Files.list(segmentsDirectory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(segmentsDirectory);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package service;
+
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FileBackedTaskManagerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int tasksCount;
+
+    @Param({"CSV", "BINARY", "COMPRESSED"})
+    private SnapshotFormat snapshotFormat;
+
+    private Path fileStorage;
+    private FileBackedTaskManager taskManager;
+    private Task task;
+
+    @Setup
+    public void setUp() throws IOException {
+        fileStorage = Files.createTempFile("tasks-benchmark", ".csv");
+        BenchmarkData.fillStorage(
+                fileStorage,
+                snapshotFormat,
+                manager -> BenchmarkData.fillTasks(manager, tasksCount)
+        );
+        taskManager = FileBackedTaskManager.loadFromFile(fileStorage, StorageMode.SNAPSHOT, snapshotFormat);
+        task = taskManager.getAllTasks(0, 1).getFirst();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkData.closeManager(taskManager, fileStorage);
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadFromFile() {
+        FileBackedTaskManager loadedTaskManager = FileBackedTaskManager.loadFromFile(fileStorage);
+        loadedTaskManager.close();
+
+        return loadedTaskManager;
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadFromFileLazily() {
+        FileBackedTaskManager loadedTaskManager = FileBackedTaskManager.loadFromFile(
+                fileStorage,
+                StorageMode.SNAPSHOT,
+                snapshotFormat,
+                LoadMode.LAZY
+        );
+        loadedTaskManager.close();
+
+        return loadedTaskManager;
+    }
+
+    @Benchmark
+    public Task save() {
+        return taskManager.updateTask(task);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package service;
+
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryManagerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int historySize;
+
+    private HistoryManager historyManager;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        historyManager = Managers.getDefaultHistory();
+        tasks = new ArrayList<>(historySize);
+
+        for (int i = 0; i < historySize; i++) {
+            Task task = BenchmarkData.newTask(i);
+            task.setId(i + 1);
+            tasks.add(task);
+            historyManager.add(task);
+        }
+    }
+
+    @Benchmark
+    public void addViewedTask() {
+        historyManager.add(randomTask());
+    }
+
+    @Benchmark
+    public void removeAndAddTask() {
+        Task task = randomTask();
+        historyManager.remove(task.getId());
+        historyManager.add(task);
+    }
+
+    @Benchmark
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    private Task randomTask() {
+        return tasks.get(ThreadLocalRandom.current().nextInt(tasks.size()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package service;
+
+public enum ManagerType {
+    IN_MEMORY,
+    CONCURRENT,
+    FILE_BACKED_SNAPSHOT,
+    FILE_BACKED_JOURNAL,
+    FILE_BACKED_SEGMENTED,
+    FILE_BACKED_ASYNC
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskManagerBenchmark {
+    private static final int SUBTASKS_COUNT = 1000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({
+            "IN_MEMORY",
+            "CONCURRENT",
+            "FILE_BACKED_SNAPSHOT",
+            "FILE_BACKED_JOURNAL",
+            "FILE_BACKED_SEGMENTED",
+            "FILE_BACKED_ASYNC"
+    })
+    private ManagerType managerType;
+
+    @Param({"1000", "100000", "1000000"})
+    private int tasksCount;
+
+    private Path fileStorage;
+    private TaskManager taskManager;
+    private List<Integer> taskIds;
+    private List<Subtask> subtasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        fileStorage = Files.createTempFile("tasks-benchmark", ".csv");
+        taskManager = BenchmarkData.createManager(managerType, fileStorage, manager -> {
+            BenchmarkData.fillTasks(manager, tasksCount);
+
+            Epic epic = new Epic("Title", "Description");
+            manager.createEpic(epic);
+
+            for (int i = 0; i < SUBTASKS_COUNT; i++) {
+                Task task = BenchmarkData.newTask(tasksCount + i);
+                manager.createSubtask(new Subtask(
+                        task.getTitle(),
+                        task.getDescription(),
+                        TaskStatus.NEW,
+                        task.getStartTime(),
+                        task.getDuration(),
+                        epic.getId()
+                ));
+            }
+        });
+        taskIds = new ArrayList<>();
+        subtasks = taskManager.getAllSubtasks();
+
+        for (Task task : taskManager.getAllTasks()) {
+            taskIds.add(task.getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkData.closeManager(taskManager, fileStorage);
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return taskManager.getTaskById(randomTaskId());
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task task = taskManager.getTaskById(randomTaskId());
+        task.setStatus(task.getStatus() == TaskStatus.NEW ? TaskStatus.IN_PROGRESS : TaskStatus.NEW);
+
+        return taskManager.updateTask(task);
+    }
+
+    @Benchmark
+    public Task createAndRemoveTask() {
+        Task task = taskManager.createTask(BenchmarkData.newTask(tasksCount + SUBTASKS_COUNT));
+
+        return taskManager.removeTaskById(task.getId());
+    }
+
+    @Benchmark
+    public Subtask updateSubtaskOfLargeEpic() {
+        Subtask subtask = new Subtask(subtasks.get(ThreadLocalRandom.current().nextInt(subtasks.size())));
+        subtask.setStatus(TaskStatus.DONE);
+        subtask.setDuration(Duration.ofSeconds(30));
+        taskManager.updateSubtask(subtask);
+
+        subtask.setStatus(TaskStatus.NEW);
+        subtask.setDuration(Duration.ofMinutes(1));
+
+        return taskManager.updateSubtask(subtask);
+    }
+
+    @Benchmark
+    public List<Task> getPrioritizedTasks() {
+        return taskManager.getPrioritizedTasks();
+    }
+
+    @Benchmark
+    public List<Task> getPrioritizedTasksPage() {
+        return taskManager.getPrioritizedTasks(null, PAGE_SIZE);
+    }
+
+    private int randomTaskId() {
+        return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+}
\ No newline at end of file
@@ -12,6 +12,8 @@ public class Task {
     private TaskStatus status;
     private LocalDateTime startTime;
     private Duration duration;
+    private transient TextSource textSource;
+    private transient int textRecord;
 
     public Task(String title, String description, TaskStatus status, LocalDateTime startTime, Duration duration) {
         this.title = title;
@@ -32,6 +34,8 @@ public class Task {
         this.id = task.id;
         this.title = task.title;
         this.description = task.description;
+        this.textSource = task.textSource;
+        this.textRecord = task.textRecord;
         this.status = task.status;
         this.startTime = task.startTime;
         this.duration = task.duration;
@@ -46,21 +50,34 @@ public class Task {
     }
 
     public String getTitle() {
-        return title;
+        return textSource != null ? textSource.getTitle(textRecord) : title;
     }
 
     public void setTitle(String title) {
+        loadText();
         this.title = title;
     }
 
     public String getDescription() {
-        return description;
+        return textSource != null ? textSource.getDescription(textRecord) : description;
     }
 
     public void setDescription(String description) {
+        loadText();
         this.description = description;
     }
 
+    public void setTextSource(TextSource textSource, int textRecord) {
+        this.textSource = textSource;
+        this.textRecord = textRecord;
+        this.title = null;
+        this.description = null;
+    }
+
+    public boolean isTextLoaded() {
+        return textSource == null;
+    }
+
     public TaskStatus getStatus() {
         return status;
     }
@@ -113,10 +130,10 @@ public class Task {
 
     @Override
     public String toString() {
-        String result = "Task{id=" + id + ", title='" + title + "', ";
+        String result = "Task{id=" + id + ", title='" + getTitle() + "', ";
 
-        if (description != null) {
-            result += "description.length=" + description.length() + ", ";
+        if (getDescription() != null) {
+            result += "description.length=" + getDescription().length() + ", ";
         } else {
             result += "description=null, ";
         }
@@ -141,4 +158,12 @@ public class Task {
 
         return (result + "status=" + status + "}");
     }
+
+    private void loadText() {
+        if (textSource != null) {
+            title = textSource.getTitle(textRecord);
+            description = textSource.getDescription(textRecord);
+            textSource = null;
+        }
+    }
 }
\ No newline at end of file
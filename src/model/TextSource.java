@@ -0,0 +1,7 @@
+package model;
+
+public interface TextSource {
+    String getTitle(int record);
+
+    String getDescription(int record);
+}
\ No newline at end of file
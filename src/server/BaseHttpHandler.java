@@ -1,17 +1,29 @@
 package server;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exception.NotFoundException;
 import exception.OverlapException;
+import model.Task;
+import service.HistoryPartition;
 import service.TaskManager;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
 
 public abstract class BaseHttpHandler implements HttpHandler {
+    protected static final String LIMIT_PARAMETER = "limit";
+    protected static final String CURSOR_PARAMETER = "cursor";
+    protected static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    protected static final String CLIENT_ID_HEADER = "X-Client-Id";
     protected final TaskManager taskManager;
     protected final Gson gson;
 
@@ -22,6 +34,16 @@ public abstract class BaseHttpHandler implements HttpHandler {
 
     @Override
     public void handle(HttpExchange httpExchange) throws IOException {
+        HistoryPartition.set(httpExchange.getRequestHeaders().getFirst(CLIENT_ID_HEADER));
+
+        try {
+            dispatch(httpExchange);
+        } finally {
+            HistoryPartition.clear();
+        }
+    }
+
+    private void dispatch(HttpExchange httpExchange) throws IOException {
         try {
             String method = httpExchange.getRequestMethod();
             String path = httpExchange.getRequestURI().getPath();
@@ -45,6 +67,8 @@ public abstract class BaseHttpHandler implements HttpHandler {
             sendNotFound(httpExchange);
         } catch (NumberFormatException exception) {
             sendMethodNotAllowed(httpExchange);
+        } catch (IllegalArgumentException exception) {
+            sendBadRequest(httpExchange);
         } catch (IOException exception) {
             sendInternalServerError(httpExchange);
         }
@@ -56,44 +80,63 @@ public abstract class BaseHttpHandler implements HttpHandler {
 
     protected abstract void processDeleteRequest(HttpExchange httpExchange, String path) throws IOException;
 
-    protected void sendText(HttpExchange httpExchange, String response) throws IOException {
+    protected void sendJson(HttpExchange httpExchange, Object response) throws IOException {
         try (httpExchange) {
             httpExchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
-            httpExchange.sendResponseHeaders(200, response.getBytes(StandardCharsets.UTF_8).length);
+            httpExchange.sendResponseHeaders(200, 0);
 
-            try (OutputStream os = httpExchange.getResponseBody()) {
-                os.write(response.getBytes(StandardCharsets.UTF_8));
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(httpExchange.getResponseBody(), StandardCharsets.UTF_8)
+            )) {
+                gson.toJson(response, writer);
+            } catch (JsonIOException exception) {
+                throw new IOException(exception.getMessage());
             }
         }
     }
 
-    protected void sendResourceCreated(HttpExchange httpExchange) throws IOException {
-        try (httpExchange) {
-            httpExchange.sendResponseHeaders(201, -1);
+    protected <T extends Task> void sendPage(
+            HttpExchange httpExchange,
+            List<T> page,
+            int limit,
+            Function<T, String> cursorOf
+    ) throws IOException {
+        if (page.size() == limit) {
+            httpExchange.getResponseHeaders().add(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)));
         }
+
+        sendJson(httpExchange, page);
+    }
+
+    protected void sendResourceCreated(HttpExchange httpExchange) throws IOException {
+        sendStatus(httpExchange, 201);
+    }
+
+    protected void sendBadRequest(HttpExchange httpExchange) throws IOException {
+        sendStatus(httpExchange, 400);
     }
 
     protected void sendMethodNotAllowed(HttpExchange httpExchange) throws IOException {
-        try (httpExchange) {
-            httpExchange.sendResponseHeaders(405, -1);
-        }
+        sendStatus(httpExchange, 405);
     }
 
     protected void sendInternalServerError(HttpExchange httpExchange) throws IOException {
-        try (httpExchange) {
-            httpExchange.sendResponseHeaders(500, -1);
-        }
+        sendStatus(httpExchange, 500);
     }
 
     protected void sendNotFound(HttpExchange httpExchange) throws IOException {
-        try (httpExchange) {
-            httpExchange.sendResponseHeaders(404, -1);
-        }
+        sendStatus(httpExchange, 404);
     }
 
     protected void sendOverlap(HttpExchange httpExchange) throws IOException {
+        sendStatus(httpExchange, 406);
+    }
+
+    private void sendStatus(HttpExchange httpExchange, int statusCode) throws IOException {
         try (httpExchange) {
-            httpExchange.sendResponseHeaders(406, -1);
+            if (httpExchange.getResponseCode() == -1) {
+                httpExchange.sendResponseHeaders(statusCode, -1);
+            }
         }
     }
 
@@ -101,7 +144,145 @@ public abstract class BaseHttpHandler implements HttpHandler {
         return new String(httpExchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
     }
 
-    protected int parseId(String id) {
-        return Integer.parseInt(id);
+    protected static String getQueryParameter(HttpExchange httpExchange, String name) {
+        String query = httpExchange.getRequestURI().getRawQuery();
+
+        if (query == null) {
+            return null;
+        }
+
+        for (String pair : query.split("&")) {
+            int separatorIndex = pair.indexOf('=');
+            String key = separatorIndex < 0 ? pair : pair.substring(0, separatorIndex);
+
+            if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+                return separatorIndex < 0
+                        ? ""
+                        : URLDecoder.decode(pair.substring(separatorIndex + 1), StandardCharsets.UTF_8);
+            }
+        }
+
+        return null;
+    }
+
+    protected static Integer getLimit(HttpExchange httpExchange) throws IllegalArgumentException {
+        String value = getQueryParameter(httpExchange, LIMIT_PARAMETER);
+
+        if (value == null) {
+            return null;
+        }
+
+        int limit;
+
+        try {
+            limit = Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Некорректный размер страницы: " + value);
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Некорректный размер страницы: " + value);
+        }
+
+        return limit;
+    }
+
+    protected static int getIdCursor(HttpExchange httpExchange) throws IllegalArgumentException {
+        String value = getQueryParameter(httpExchange, CURSOR_PARAMETER);
+
+        if (value == null) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value);
+        }
+    }
+
+    protected static int getOffsetCursor(HttpExchange httpExchange) throws IllegalArgumentException {
+        int offset = getIdCursor(httpExchange);
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("Некорректный курсор: " + offset);
+        }
+
+        return offset;
+    }
+
+    protected static String idCursorOf(Task task) {
+        return String.valueOf(task.getId());
+    }
+
+    protected static final class Route {
+        public static final int NO_MATCH = -1;
+        private static final String ID_SEGMENT = "{id}";
+        private final String[] segments;
+
+        private Route(String[] segments) {
+            this.segments = segments;
+        }
+
+        public static Route of(String template) {
+            String[] segments = template.substring(1).split("/");
+
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(ID_SEGMENT)) {
+                    segments[i] = null;
+                }
+            }
+
+            return new Route(segments);
+        }
+
+        public boolean matches(String path) throws NumberFormatException {
+            return match(path) != NO_MATCH;
+        }
+
+        public int match(String path) throws NumberFormatException {
+            int position = 0;
+            int id = 0;
+
+            for (String segment : segments) {
+                if (position >= path.length() || path.charAt(position) != '/') {
+                    return NO_MATCH;
+                }
+                position++;
+
+                if (segment != null) {
+                    if (!path.startsWith(segment, position)) {
+                        return NO_MATCH;
+                    }
+                    position += segment.length();
+                    continue;
+                }
+
+                int idStart = position;
+                long value = 0;
+
+                while (position < path.length() && path.charAt(position) != '/') {
+                    char digit = path.charAt(position);
+
+                    if (digit < '0' || digit > '9') {
+                        return NO_MATCH;
+                    }
+
+                    value = value * 10 + (digit - '0');
+
+                    if (value > Integer.MAX_VALUE) {
+                        throw new NumberFormatException("Идентификатор вне допустимого диапазона: " + path);
+                    }
+                    position++;
+                }
+
+                if (position == idStart) {
+                    return NO_MATCH;
+                }
+                id = (int) value;
+            }
+
+            return position == path.length() ? id : NO_MATCH;
+        }
     }
 }
\ No newline at end of file
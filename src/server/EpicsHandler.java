@@ -6,9 +6,11 @@ import model.Epic;
 import service.TaskManager;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
 
 public class EpicsHandler extends BaseHttpHandler {
+    private static final Route EPICS = Route.of("/epics");
+    private static final Route EPIC_BY_ID = Route.of("/epics/{id}");
+    private static final Route EPIC_SUBTASKS = Route.of("/epics/{id}/subtasks");
 
     public EpicsHandler(TaskManager taskManager, Gson gson) {
         super(taskManager, gson);
@@ -16,23 +18,33 @@ public class EpicsHandler extends BaseHttpHandler {
 
     @Override
     protected void processGetRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/epics$", path)) {
-            sendText(httpExchange, gson.toJson(taskManager.getAllEpics()));
+        if (EPICS.matches(path)) {
+            Integer limit = getLimit(httpExchange);
+
+            if (limit == null) {
+                sendJson(httpExchange, taskManager.getReadView().getEpics());
+            } else {
+                sendPage(
+                        httpExchange,
+                        taskManager.getAllEpics(getIdCursor(httpExchange), limit),
+                        limit,
+                        BaseHttpHandler::idCursorOf
+                );
+            }
             return;
         }
 
-        if (Pattern.matches("^/epics/\\d+$", path)) {
-            int id = parseId(path.replace("/epics/", ""));
-            sendText(httpExchange, gson.toJson(taskManager.getEpicById(id)));
+        int id = EPIC_BY_ID.match(path);
+
+        if (id != Route.NO_MATCH) {
+            sendJson(httpExchange, taskManager.getEpicById(id));
             return;
         }
 
-        if (Pattern.matches("^/epics/\\d+/subtasks$", path)) {
-            int id = parseId(
-                    path.replace("/epics/", "")
-                            .replace("/subtasks", "")
-            );
-            sendText(httpExchange, gson.toJson(taskManager.getSubtasksByEpicId(id)));
+        id = EPIC_SUBTASKS.match(path);
+
+        if (id != Route.NO_MATCH) {
+            sendJson(httpExchange, taskManager.getSubtasksByEpicId(id));
             return;
         }
 
@@ -41,7 +53,7 @@ public class EpicsHandler extends BaseHttpHandler {
 
     @Override
     protected void processPostRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/epics$", path)) {
+        if (EPICS.matches(path)) {
             Epic epic = gson.fromJson(
                     readJsonFromRequestBody(httpExchange),
                     Epic.class
@@ -51,7 +63,7 @@ public class EpicsHandler extends BaseHttpHandler {
                 taskManager.createEpic(epic);
                 sendResourceCreated(httpExchange);
             } else {
-                sendText(httpExchange, gson.toJson(taskManager.updateEpic(epic)));
+                sendJson(httpExchange, taskManager.updateEpic(epic));
             }
         } else {
             sendMethodNotAllowed(httpExchange);
@@ -60,9 +72,10 @@ public class EpicsHandler extends BaseHttpHandler {
 
     @Override
     protected void processDeleteRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/epics/\\d+$", path)) {
-            int id = parseId(path.replace("/epics/", ""));
-            sendText(httpExchange, gson.toJson(taskManager.removeEpicById(id)));
+        int id = EPIC_BY_ID.match(path);
+
+        if (id != Route.NO_MATCH) {
+            sendJson(httpExchange, taskManager.removeEpicById(id));
         } else {
             sendMethodNotAllowed(httpExchange);
         }
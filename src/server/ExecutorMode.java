@@ -0,0 +1,7 @@
+package server;
+
+public enum ExecutorMode {
+    DISPATCHER_THREAD,
+    FIXED_THREAD_POOL,
+    VIRTUAL_THREAD_PER_REQUEST
+}
\ No newline at end of file
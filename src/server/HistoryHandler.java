@@ -5,9 +5,9 @@ import com.sun.net.httpserver.HttpExchange;
 import service.TaskManager;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
 
 public class HistoryHandler extends BaseHttpHandler {
+    private static final Route HISTORY = Route.of("/history");
 
     public HistoryHandler(TaskManager taskManager, Gson gson) {
         super(taskManager, gson);
@@ -15,8 +15,21 @@ public class HistoryHandler extends BaseHttpHandler {
 
     @Override
     protected void processGetRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/history$", path)) {
-            sendText(httpExchange, gson.toJson(taskManager.getHistory()));
+        if (HISTORY.matches(path)) {
+            Integer limit = getLimit(httpExchange);
+
+            if (limit == null) {
+                sendJson(httpExchange, taskManager.getHistory());
+            } else {
+                int offset = getOffsetCursor(httpExchange);
+
+                sendPage(
+                        httpExchange,
+                        taskManager.getHistory(offset, limit),
+                        limit,
+                        task -> String.valueOf(offset + limit)
+                );
+            }
         } else {
             sendMethodNotAllowed(httpExchange);
         }
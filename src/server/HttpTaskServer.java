@@ -10,10 +10,15 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HttpTaskServer {
+    private static final String DEFAULT_HOSTNAME = "localhost";
     private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_BACKLOG = 0;
     private final HttpServer httpServer;
+    private final ExecutorService executorService;
     private final Gson gson;
     private final TaskManager taskManager;
 
@@ -22,9 +27,29 @@ public class HttpTaskServer {
     }
 
     public HttpTaskServer(TaskManager taskManager) throws IOException {
-        this.httpServer = HttpServer.create(new InetSocketAddress("localhost", DEFAULT_PORT), 0);
-        this.taskManager = taskManager;
+        this(
+                taskManager,
+                new InetSocketAddress(DEFAULT_HOSTNAME, DEFAULT_PORT),
+                DEFAULT_BACKLOG,
+                ExecutorMode.DISPATCHER_THREAD,
+                1
+        );
+    }
+
+    public HttpTaskServer(
+            TaskManager taskManager,
+            InetSocketAddress address,
+            int backlog,
+            ExecutorMode executorMode,
+            int threadsCount
+    ) throws IOException {
+        this.httpServer = HttpServer.create(address, backlog);
+        this.taskManager = executorMode == ExecutorMode.DISPATCHER_THREAD
+                ? taskManager
+                : Managers.getSynchronized(taskManager);
         this.gson = createGson();
+        this.executorService = createExecutorService(executorMode, threadsCount);
+        httpServer.setExecutor(executorService);
         createServerContext();
     }
 
@@ -34,12 +59,20 @@ public class HttpTaskServer {
 
     public void stop() {
         httpServer.stop(0);
+
+        if (executorService != null) {
+            executorService.shutdown();
+        }
     }
 
     public Gson getGson() {
         return gson;
     }
 
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+
     public static void main(String[] args) {
         try {
             HttpTaskServer httpTaskServer = new HttpTaskServer();
@@ -57,10 +90,19 @@ public class HttpTaskServer {
         httpServer.createContext("/epics", new EpicsHandler(taskManager, gson));
     }
 
+    private static ExecutorService createExecutorService(ExecutorMode executorMode, int threadsCount) {
+        return switch (executorMode) {
+            case FIXED_THREAD_POOL -> Executors.newFixedThreadPool(threadsCount);
+            case VIRTUAL_THREAD_PER_REQUEST -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> null;
+        };
+    }
+
     private static Gson createGson() {
         return new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTextAdapterFactory())
                 .create();
     }
 }
\ No newline at end of file
@@ -2,12 +2,17 @@ package server;
 
 import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
+import model.Task;
 import service.TaskManager;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 public class PrioritizedHandler extends BaseHttpHandler {
+    private static final Route PRIORITIZED = Route.of("/prioritized");
+    private static final char CURSOR_SEPARATOR = '_';
 
     public PrioritizedHandler(TaskManager taskManager, Gson gson) {
         super(taskManager, gson);
@@ -15,8 +20,19 @@ public class PrioritizedHandler extends BaseHttpHandler {
 
     @Override
     protected void processGetRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/prioritized$", path)) {
-            sendText(httpExchange, gson.toJson(taskManager.getPrioritizedTasks()));
+        if (PRIORITIZED.matches(path)) {
+            Integer limit = getLimit(httpExchange);
+
+            if (limit == null) {
+                sendJson(httpExchange, taskManager.getPrioritizedTasks());
+            } else {
+                sendPage(
+                        httpExchange,
+                        taskManager.getPrioritizedTasks(getPrioritizedCursor(httpExchange), limit),
+                        limit,
+                        PrioritizedHandler::prioritizedCursorOf
+                );
+            }
         } else {
             sendMethodNotAllowed(httpExchange);
         }
@@ -31,4 +47,33 @@ public class PrioritizedHandler extends BaseHttpHandler {
     protected void processDeleteRequest(HttpExchange httpExchange, String path) throws IOException {
         sendMethodNotAllowed(httpExchange);
     }
+
+    private static String prioritizedCursorOf(Task task) {
+        return task.getStartTime().toString() + CURSOR_SEPARATOR + task.getId();
+    }
+
+    private static Task getPrioritizedCursor(HttpExchange httpExchange) throws IllegalArgumentException {
+        String value = getQueryParameter(httpExchange, CURSOR_PARAMETER);
+
+        if (value == null) {
+            return null;
+        }
+
+        int separatorIndex = value.lastIndexOf(CURSOR_SEPARATOR);
+
+        try {
+            Task cursor = new Task(
+                    null,
+                    null,
+                    null,
+                    LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    Duration.ZERO
+            );
+            cursor.setId(Integer.parseInt(value.substring(separatorIndex + 1)));
+
+            return cursor;
+        } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException exception) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value);
+        }
+    }
 }
\ No newline at end of file
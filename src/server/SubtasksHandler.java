@@ -6,9 +6,10 @@ import model.Subtask;
 import service.TaskManager;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
 
 public class SubtasksHandler extends BaseHttpHandler {
+    private static final Route SUBTASKS = Route.of("/subtasks");
+    private static final Route SUBTASK_BY_ID = Route.of("/subtasks/{id}");
 
     public SubtasksHandler(TaskManager taskManager, Gson gson) {
         super(taskManager, gson);
@@ -16,14 +17,26 @@ public class SubtasksHandler extends BaseHttpHandler {
 
     @Override
     protected void processGetRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/subtasks$", path)) {
-            sendText(httpExchange, gson.toJson(taskManager.getAllSubtasks()));
+        if (SUBTASKS.matches(path)) {
+            Integer limit = getLimit(httpExchange);
+
+            if (limit == null) {
+                sendJson(httpExchange, taskManager.getReadView().getSubtasks());
+            } else {
+                sendPage(
+                        httpExchange,
+                        taskManager.getAllSubtasks(getIdCursor(httpExchange), limit),
+                        limit,
+                        BaseHttpHandler::idCursorOf
+                );
+            }
             return;
         }
 
-        if (Pattern.matches("^/subtasks/\\d+$", path)) {
-            int id = parseId(path.replace("/subtasks/", ""));
-            sendText(httpExchange, gson.toJson(taskManager.getSubtaskById(id)));
+        int id = SUBTASK_BY_ID.match(path);
+
+        if (id != Route.NO_MATCH) {
+            sendJson(httpExchange, taskManager.getSubtaskById(id));
             return;
         }
 
@@ -32,16 +45,16 @@ public class SubtasksHandler extends BaseHttpHandler {
 
     @Override
     protected void processPostRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/subtasks$", path)) {
+        if (SUBTASKS.matches(path)) {
             Subtask subtask = gson.fromJson(
                     readJsonFromRequestBody(httpExchange),
                     Subtask.class
             );
 
             if (subtask.getId() == 0) {
-                sendText(httpExchange, gson.toJson(taskManager.createSubtask(subtask)));
+                sendJson(httpExchange, taskManager.createSubtask(subtask));
             } else {
-                sendText(httpExchange, gson.toJson(taskManager.updateSubtask(subtask)));
+                sendJson(httpExchange, taskManager.updateSubtask(subtask));
             }
         } else {
             sendMethodNotAllowed(httpExchange);
@@ -50,9 +63,10 @@ public class SubtasksHandler extends BaseHttpHandler {
 
     @Override
     protected void processDeleteRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/subtasks/\\d+$", path)) {
-            int id = parseId(path.replace("/subtasks/", ""));
-            sendText(httpExchange, gson.toJson(taskManager.removeSubtaskById(id)));
+        int id = SUBTASK_BY_ID.match(path);
+
+        if (id != Route.NO_MATCH) {
+            sendJson(httpExchange, taskManager.removeSubtaskById(id));
         } else {
             sendMethodNotAllowed(httpExchange);
         }
@@ -0,0 +1,47 @@
+package server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import model.Task;
+
+import java.io.IOException;
+
+class TaskTextAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        if (!Task.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+
+        return new TypeAdapter<>() {
+            @Override
+            public void write(final JsonWriter jsonWriter, final T value) throws IOException {
+                if (value == null || ((Task) value).isTextLoaded()) {
+                    delegate.write(jsonWriter, value);
+                    return;
+                }
+
+                Task task = (Task) value;
+                JsonObject jsonObject = delegate.toJsonTree(value).getAsJsonObject();
+                jsonObject.addProperty("title", task.getTitle());
+                jsonObject.addProperty("description", task.getDescription());
+                elementAdapter.write(jsonWriter, jsonObject);
+            }
+
+            @Override
+            public T read(final JsonReader jsonReader) throws IOException {
+                return delegate.read(jsonReader);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -6,9 +6,10 @@ import model.Task;
 import service.TaskManager;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
 
 public class TasksHandler extends BaseHttpHandler {
+    private static final Route TASKS = Route.of("/tasks");
+    private static final Route TASK_BY_ID = Route.of("/tasks/{id}");
 
     public TasksHandler(TaskManager taskManager, Gson gson) {
         super(taskManager, gson);
@@ -16,14 +17,26 @@ public class TasksHandler extends BaseHttpHandler {
 
     @Override
     protected void processGetRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/tasks$", path)) {
-            sendText(httpExchange, gson.toJson(taskManager.getAllTasks()));
+        if (TASKS.matches(path)) {
+            Integer limit = getLimit(httpExchange);
+
+            if (limit == null) {
+                sendJson(httpExchange, taskManager.getReadView().getTasks());
+            } else {
+                sendPage(
+                        httpExchange,
+                        taskManager.getAllTasks(getIdCursor(httpExchange), limit),
+                        limit,
+                        BaseHttpHandler::idCursorOf
+                );
+            }
             return;
         }
 
-        if (Pattern.matches("^/tasks/\\d+$", path)) {
-            int id = parseId(path.replace("/tasks/", ""));
-            sendText(httpExchange, gson.toJson(taskManager.getTaskById(id)));
+        int id = TASK_BY_ID.match(path);
+
+        if (id != Route.NO_MATCH) {
+            sendJson(httpExchange, taskManager.getTaskById(id));
             return;
         }
 
@@ -32,16 +45,16 @@ public class TasksHandler extends BaseHttpHandler {
 
     @Override
     protected void processPostRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/tasks$", path)) {
+        if (TASKS.matches(path)) {
             Task task = gson.fromJson(
                     readJsonFromRequestBody(httpExchange),
                     Task.class
             );
 
             if (task.getId() == 0) {
-                sendText(httpExchange, gson.toJson(taskManager.createTask(task)));
+                sendJson(httpExchange, taskManager.createTask(task));
             } else {
-                sendText(httpExchange, gson.toJson(taskManager.updateTask(task)));
+                sendJson(httpExchange, taskManager.updateTask(task));
             }
         } else {
             sendMethodNotAllowed(httpExchange);
@@ -50,9 +63,10 @@ public class TasksHandler extends BaseHttpHandler {
 
     @Override
     protected void processDeleteRequest(HttpExchange httpExchange, String path) throws IOException {
-        if (Pattern.matches("^/tasks/\\d+$", path)) {
-            int id = parseId(path.replace("/tasks/", ""));
-            sendText(httpExchange, gson.toJson(taskManager.removeTaskById(id)));
+        int id = TASK_BY_ID.match(path);
+
+        if (id != Route.NO_MATCH) {
+            sendJson(httpExchange, taskManager.removeTaskById(id));
         } else {
             sendMethodNotAllowed(httpExchange);
         }
@@ -0,0 +1,223 @@
+package service;
+
+import model.Task;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+public final class AsyncHistoryManager implements ConcurrentHistoryManager, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 4_096;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+    private static final long WAIT_POLL_NANOS = 100_000;
+    private static final byte ADD = 0;
+    private static final byte REMOVE = 1;
+    private final HistoryManager historyManager;
+    private final int mask;
+    private final long maxDelayNanos;
+    private final AtomicLongArray sequences;
+    private final byte[] types;
+    private final int[] ids;
+    private final Task[] tasks;
+    private final String[] partitionKeys;
+    private final AtomicLong tail;
+    private final AtomicLong droppedEvents;
+    private final Thread consumerThread;
+    private volatile long head;
+    private volatile boolean running;
+
+    public AsyncHistoryManager(HistoryManager historyManager) {
+        this(historyManager, DEFAULT_CAPACITY, DEFAULT_MAX_DELAY);
+    }
+
+    public AsyncHistoryManager(HistoryManager historyManager, int capacity, Duration maxDelay)
+            throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Недопустимая ёмкость буфера истории: " + capacity);
+        }
+
+        int bufferCapacity = Integer.highestOneBit(capacity * 2 - 1);
+        this.historyManager = historyManager;
+        this.mask = bufferCapacity - 1;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.sequences = new AtomicLongArray(bufferCapacity);
+        this.types = new byte[bufferCapacity];
+        this.ids = new int[bufferCapacity];
+        this.tasks = new Task[bufferCapacity];
+        this.partitionKeys = new String[bufferCapacity];
+        this.tail = new AtomicLong();
+        this.droppedEvents = new AtomicLong();
+
+        for (int i = 0; i < bufferCapacity; i++) {
+            sequences.set(i, i);
+        }
+
+        this.running = true;
+        this.consumerThread = new Thread(this::consumeEvents, "history-recorder");
+        this.consumerThread.setDaemon(true);
+        this.consumerThread.start();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public int getPendingEvents() {
+        return (int) (tail.get() - head);
+    }
+
+    @Override
+    public void add(Task task) {
+        long position = running ? claim() : -1;
+
+        if (position < 0) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+
+        int slot = (int) position & mask;
+        Task entry = tasks[slot];
+
+        if (entry == null) {
+            tasks[slot] = new Task(task);
+        } else {
+            entry.setId(task.getId());
+            InMemoryTaskManager.updateAnyTaskData(entry, task);
+        }
+
+        publish(position, slot, ADD, task.getId());
+    }
+
+    @Override
+    public void remove(int id) {
+        long position = running ? claim() : -1;
+
+        while (position < 0) {
+            if (!running) {
+                droppedEvents.incrementAndGet();
+                return;
+            }
+
+            LockSupport.unpark(consumerThread);
+            LockSupport.parkNanos(WAIT_POLL_NANOS);
+            position = claim();
+        }
+
+        int slot = (int) position & mask;
+        publish(position, slot, REMOVE, id);
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        synchronized (historyManager) {
+            return historyManager.getHistory();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory(int offset, int limit) throws IllegalArgumentException {
+        synchronized (historyManager) {
+            return historyManager.getHistory(offset, limit);
+        }
+    }
+
+    @Override
+    public void setTaskResolver(IntFunction<Task> taskResolver) {
+        synchronized (historyManager) {
+            historyManager.setTaskResolver(taskResolver);
+        }
+    }
+
+    public void flush() {
+        long position = tail.get();
+
+        while (head < position && consumerThread.isAlive()) {
+            LockSupport.unpark(consumerThread);
+            LockSupport.parkNanos(WAIT_POLL_NANOS);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumerThread);
+
+        try {
+            consumerThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long claim() {
+        long position = tail.get();
+
+        while (true) {
+            long difference = sequences.getAcquire((int) position & mask) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void publish(long position, int slot, byte type, int id) {
+        types[slot] = type;
+        ids[slot] = id;
+        partitionKeys[slot] = HistoryPartition.current();
+        sequences.setRelease(slot, position + 1);
+    }
+
+    private void consumeEvents() {
+        while (running || tail.get() > head) {
+            if (applyEvents() == 0) {
+                LockSupport.parkNanos(this, maxDelayNanos);
+            }
+        }
+    }
+
+    private int applyEvents() {
+        long position = head;
+        int appliedCount = 0;
+
+        synchronized (historyManager) {
+            try {
+                while (appliedCount <= mask) {
+                    int slot = (int) position & mask;
+
+                    if (sequences.getAcquire(slot) != position + 1) {
+                        break;
+                    }
+
+                    HistoryPartition.set(partitionKeys[slot]);
+
+                    if (types[slot] == ADD) {
+                        historyManager.add(tasks[slot]);
+                    } else {
+                        historyManager.remove(ids[slot]);
+                    }
+
+                    partitionKeys[slot] = null;
+                    sequences.setRelease(slot, position + mask + 1);
+                    position++;
+                    appliedCount++;
+                }
+            } finally {
+                HistoryPartition.clear();
+                head = position;
+            }
+        }
+
+        return appliedCount;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class BinarySnapshot {
+    static final int MAGIC = 0x544B534E;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 48;
+    private static final int NO_VALUE = -1;
+    private static final byte HAS_START_TIME = 1;
+    private static final byte HAS_DURATION = 2;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+
+    private BinarySnapshot() {
+
+    }
+
+    static boolean isBinarySnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < Integer.BYTES) {
+                return false;
+            }
+
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(magic, 0);
+
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    static void write(OutputStream outputStream, Collection<? extends Task> anyTasks) throws IOException {
+        List<byte[]> strings = new ArrayList<>(anyTasks.size() * 2);
+
+        for (Task anyTask : anyTasks) {
+            strings.add(anyTask.getTitle() != null ? anyTask.getTitle().getBytes(UTF_8) : null);
+            strings.add(anyTask.getDescription() != null ? anyTask.getDescription().getBytes(UTF_8) : null);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(anyTasks.size());
+            out.writeInt(0);
+            out.writeLong(HEADER_SIZE + (long) anyTasks.size() * RECORD_SIZE);
+
+            int stringIndex = 0;
+            int stringsOffset = 0;
+
+            for (Task anyTask : anyTasks) {
+                byte flags = 0;
+
+                if (anyTask.getStartTime() != null) {
+                    flags |= HAS_START_TIME;
+                }
+                if (anyTask.getDuration() != null) {
+                    flags |= HAS_DURATION;
+                }
+
+                out.writeInt(anyTask.getId());
+                out.writeByte(anyTask.getType().ordinal());
+                out.writeByte(anyTask.getStatus() != null ? anyTask.getStatus().ordinal() : NO_VALUE);
+                out.writeByte(flags);
+                out.writeByte(0);
+                out.writeInt(anyTask.getType() == TaskType.SUBTASK ? ((Subtask) anyTask).getEpicId() : 0);
+                LocalDateTime startTime = anyTask.getStartTime();
+
+                out.writeLong(startTime != null ? startTime.toEpochSecond(ZoneOffset.UTC) : 0);
+                out.writeInt(startTime != null ? startTime.getNano() : 0);
+                out.writeLong(anyTask.getDuration() != null ? anyTask.getDuration().getSeconds() : 0);
+
+                for (int i = 0; i < 2; i++) {
+                    byte[] string = strings.get(stringIndex++);
+
+                    out.writeInt(stringsOffset);
+                    out.writeInt(string != null ? string.length : NO_VALUE);
+
+                    if (string != null) {
+                        stringsOffset = Math.addExact(stringsOffset, string.length);
+                    }
+                }
+            }
+
+            for (byte[] string : strings) {
+                if (string != null) {
+                    out.write(string);
+                }
+            }
+        }
+    }
+
+    static void read(Path file, Map<Integer, Task> anyTasks)
+            throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        read(file, anyTasks, LoadMode.EAGER, 0);
+    }
+
+    static BinaryTextSource read(Path file, Map<Integer, Task> anyTasks, LoadMode loadMode, int textCacheSize)
+            throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Размер снимка превышает допустимый: " + channel.size());
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Файл не является бинарным снимком");
+            }
+
+            int version = buffer.getInt(4);
+
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Неподдерживаемая версия снимка: " + version);
+            }
+
+            int recordsCount = buffer.getInt(8);
+            long stringsOffset = buffer.getLong(16);
+
+            if (recordsCount < 0 || stringsOffset != HEADER_SIZE + (long) recordsCount * RECORD_SIZE
+                    || stringsOffset > buffer.limit()) {
+                throw new IllegalArgumentException("Повреждён заголовок снимка");
+            }
+
+            BinaryTextSource textSource = loadMode == LoadMode.LAZY
+                    ? new BinaryTextSource(buffer, (int) stringsOffset, textCacheSize)
+                    : null;
+            List<Task> records = IntStream.range(0, recordsCount)
+                    .parallel()
+                    .mapToObj(i -> readRecord(buffer, i, (int) stringsOffset, textSource))
+                    .toList();
+
+            for (Task anyTask : records) {
+                anyTasks.put(anyTask.getId(), anyTask);
+            }
+
+            return textSource;
+        }
+    }
+
+    private static Task readRecord(ByteBuffer buffer, int record, int stringsOffset, BinaryTextSource textSource)
+            throws IndexOutOfBoundsException, IllegalArgumentException {
+        int position = HEADER_SIZE + record * RECORD_SIZE;
+        int id = buffer.getInt(position);
+        TaskType type = TASK_TYPES[buffer.get(position + 4)];
+        byte statusOrdinal = buffer.get(position + 5);
+        byte flags = buffer.get(position + 6);
+        int epicId = buffer.getInt(position + 8);
+        TaskStatus status = statusOrdinal != NO_VALUE ? TASK_STATUSES[statusOrdinal] : null;
+        LocalDateTime startTime = (flags & HAS_START_TIME) != 0
+                ? LocalDateTime.ofEpochSecond(
+                        buffer.getLong(position + 12),
+                        buffer.getInt(position + 20),
+                        ZoneOffset.UTC
+                )
+                : null;
+        Duration duration = (flags & HAS_DURATION) != 0 ? Duration.ofSeconds(buffer.getLong(position + 24)) : null;
+        String title = textSource == null
+                ? readString(buffer, stringsOffset, buffer.getInt(position + 32), buffer.getInt(position + 36))
+                : null;
+        String description = textSource == null
+                ? readString(buffer, stringsOffset, buffer.getInt(position + 40), buffer.getInt(position + 44))
+                : null;
+
+        Task anyTask = switch (type) {
+            case EPIC -> {
+                Epic epic = new Epic(title, description);
+                epic.setStatus(status);
+                epic.setStartTime(startTime);
+                epic.setDuration(duration);
+                yield epic;
+            }
+            case SUBTASK -> new Subtask(title, description, status, startTime, duration, epicId);
+            default -> new Task(title, description, status, startTime, duration);
+        };
+        anyTask.setId(id);
+
+        if (textSource != null) {
+            anyTask.setTextSource(textSource, record);
+        }
+
+        return anyTask;
+    }
+
+    private static String readString(ByteBuffer buffer, int stringsOffset, int offset, int length)
+            throws IndexOutOfBoundsException {
+        if (length == NO_VALUE) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(stringsOffset + offset, bytes);
+
+        return new String(bytes, UTF_8);
+    }
+}
\ No newline at end of file
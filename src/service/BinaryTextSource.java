@@ -0,0 +1,66 @@
+package service;
+
+import model.TextSource;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class BinaryTextSource implements TextSource {
+    private static final int TITLE_OFFSET = 32;
+    private static final int DESCRIPTION_OFFSET = 40;
+    private ByteBuffer buffer;
+    private final int stringsOffset;
+    private final Map<Long, String> cache;
+
+    BinaryTextSource(ByteBuffer buffer, int stringsOffset, int cacheSize) {
+        this.buffer = buffer;
+        this.stringsOffset = stringsOffset;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public String getTitle(int record) {
+        return getString(record, TITLE_OFFSET);
+    }
+
+    @Override
+    public String getDescription(int record) {
+        return getString(record, DESCRIPTION_OFFSET);
+    }
+
+    synchronized void detach() {
+        ByteBuffer heapBuffer = ByteBuffer.allocate(buffer.limit());
+        heapBuffer.put(0, buffer, 0, buffer.limit());
+        buffer = heapBuffer;
+    }
+
+    private synchronized String getString(int record, int fieldOffset) {
+        long key = ((long) record << 32) | fieldOffset;
+        String value = cache.get(key);
+
+        if (value != null || cache.containsKey(key)) {
+            return value;
+        }
+
+        int position = BinarySnapshot.HEADER_SIZE + record * BinarySnapshot.RECORD_SIZE + fieldOffset;
+        int length = buffer.getInt(position + Integer.BYTES);
+
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            buffer.get(stringsOffset + buffer.getInt(position), bytes);
+            value = new String(bytes, UTF_8);
+        }
+
+        cache.put(key, value);
+
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package service;
+
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoundedHistoryManager implements HistoryManager {
+    private final LruIndex index;
+    private final Task[] entries;
+
+    public BoundedHistoryManager(int capacity) throws IllegalArgumentException {
+        this.index = new LruIndex(capacity);
+        this.entries = new Task[capacity];
+    }
+
+    public int getCapacity() {
+        return index.capacity();
+    }
+
+    @Override
+    public void add(Task task) {
+        int slot = index.touch(task.getId());
+        Task entry = entries[slot];
+
+        if (entry == null) {
+            entries[slot] = new Task(task);
+            return;
+        }
+
+        entry.setId(task.getId());
+        InMemoryTaskManager.updateAnyTaskData(entry, task);
+    }
+
+    @Override
+    public void remove(int id) {
+        int slot = index.remove(id);
+
+        if (slot != LruIndex.NO_SLOT) {
+            entries[slot].setTitle(null);
+            entries[slot].setDescription(null);
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        List<Task> resultList = new ArrayList<>(index.size());
+
+        for (int slot = index.head(); slot != LruIndex.NO_SLOT; slot = index.next(slot)) {
+            resultList.add(new Task(entries[slot]));
+        }
+
+        return resultList;
+    }
+}
\ No newline at end of file
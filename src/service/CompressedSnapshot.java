@@ -0,0 +1,196 @@
+package service;
+
+import model.Task;
+import util.TaskConverter;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class CompressedSnapshot {
+    static final int MAGIC = 0x544B535A;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int BLOCK_HEADER_SIZE = 12;
+    static final int BLOCK_SIZE = 64 * 1024;
+    private static final int DEFLATE_BUFFER_SIZE = 8 * 1024;
+
+    private CompressedSnapshot() {
+
+    }
+
+    static boolean isCompressedSnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < Integer.BYTES) {
+                return false;
+            }
+
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(magic, 0);
+
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    static void write(OutputStream outputStream, Collection<? extends Task> anyTasks) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            StringBuilder sb = new StringBuilder(BLOCK_SIZE + DEFLATE_BUFFER_SIZE);
+
+            for (Task anyTask : anyTasks) {
+                TaskConverter.appendCompactCsv(sb, anyTask);
+                sb.append('\n');
+
+                if (sb.length() >= BLOCK_SIZE) {
+                    writeBlock(out, deflater, sb);
+                    sb.setLength(0);
+                }
+            }
+
+            if (!sb.isEmpty()) {
+                writeBlock(out, deflater, sb);
+            }
+
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(0);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static void read(Path file, Map<Integer, Task> anyTasks)
+            throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        byte[] content = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+
+        if (content.length < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Файл не является сжатым снимком");
+        }
+
+        int version = buffer.getInt(4);
+
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия снимка: " + version);
+        }
+
+        List<Integer> blockPositions = new ArrayList<>();
+        int position = HEADER_SIZE;
+
+        while (true) {
+            if (position + BLOCK_HEADER_SIZE > content.length) {
+                throw new IllegalArgumentException("Сжатый снимок обрезан");
+            }
+
+            int length = buffer.getInt(position);
+            int compressedLength = buffer.getInt(position + 4);
+
+            if (length == 0 && compressedLength == 0) {
+                break;
+            }
+
+            if (length < 0 || compressedLength < 0
+                    || compressedLength > content.length - position - BLOCK_HEADER_SIZE) {
+                throw new IllegalArgumentException("Повреждён заголовок блока снимка");
+            }
+
+            blockPositions.add(position);
+            position += BLOCK_HEADER_SIZE + compressedLength;
+        }
+
+        List<List<Task>> blocks = blockPositions.parallelStream()
+                .map(blockPosition -> readBlock(content, buffer, blockPosition))
+                .toList();
+
+        for (List<Task> block : blocks) {
+            for (Task anyTask : block) {
+                anyTasks.put(anyTask.getId(), anyTask);
+            }
+        }
+    }
+
+    private static void writeBlock(DataOutputStream out, Deflater deflater, StringBuilder sb) throws IOException {
+        byte[] data = sb.toString().getBytes(UTF_8);
+        CRC32C checksum = new CRC32C();
+        checksum.update(data);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2);
+        byte[] deflateBuffer = new byte[DEFLATE_BUFFER_SIZE];
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+
+        while (!deflater.finished()) {
+            compressed.write(deflateBuffer, 0, deflater.deflate(deflateBuffer));
+        }
+
+        out.writeInt(data.length);
+        out.writeInt(compressed.size());
+        out.writeInt((int) checksum.getValue());
+        compressed.writeTo(out);
+    }
+
+    private static List<Task> readBlock(byte[] content, ByteBuffer buffer, int position)
+            throws IndexOutOfBoundsException, IllegalArgumentException {
+        int length = buffer.getInt(position);
+        int compressedLength = buffer.getInt(position + 4);
+        int expectedChecksum = buffer.getInt(position + 8);
+        byte[] data = new byte[length];
+        Inflater inflater = new Inflater();
+
+        try {
+            inflater.setInput(content, position + BLOCK_HEADER_SIZE, compressedLength);
+            int inflatedLength = 0;
+
+            while (inflatedLength < length && !inflater.finished()) {
+                int inflated = inflater.inflate(data, inflatedLength, length - inflatedLength);
+
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflatedLength += inflated;
+            }
+
+            if (inflatedLength != length) {
+                throw new IllegalArgumentException("Неверная длина блока снимка");
+            }
+        } catch (DataFormatException exception) {
+            throw new IllegalArgumentException("Повреждён блок снимка: " + exception.getMessage());
+        } finally {
+            inflater.end();
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(data);
+
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IllegalArgumentException("Контрольная сумма блока снимка не совпадает");
+        }
+
+        return TaskConverter.splitCsvRecords(data, 0, length)
+                .stream()
+                .map(TaskConverter::anyTaskFromCsvString)
+                .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,4 @@
+package service;
+
+public interface ConcurrentHistoryManager extends HistoryManager {
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentTaskManager extends InMemoryTaskManager {
+    private static final int LOCK_STRIPES = 64;
+    private static final int OPTIMISTIC_VIEW_ATTEMPTS = 4;
+    private final Stripe[] stripes;
+    private final Lock scheduleLock;
+    private volatile ReadView readView;
+
+    public ConcurrentTaskManager() {
+        this(Managers.getDefaultHistory());
+    }
+
+    public ConcurrentTaskManager(HistoryManager historyManager) {
+        super(
+                historyManager instanceof ConcurrentHistoryManager
+                        ? historyManager
+                        : new SynchronizedHistoryManager(historyManager),
+                new ConcurrentSkipListMap<>(),
+                new ConcurrentSkipListMap<>(),
+                new ConcurrentSkipListMap<>(),
+                new ConcurrentHashMap<>(),
+                new ConcurrentSkipListSet<>(PRIORITY_ORDER)
+        );
+        this.stripes = new Stripe[LOCK_STRIPES];
+        this.scheduleLock = new ReentrantLock();
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public ReadView getReadView() {
+        ReadView currentView = readView;
+
+        if (currentView != null && currentView.getVersion() == readVersion()) {
+            return currentView;
+        }
+
+        for (int i = 0; i < OPTIMISTIC_VIEW_ATTEMPTS; i++) {
+            long viewVersion = readVersion();
+
+            if (viewVersion < 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            ReadView newView = createReadView(viewVersion);
+
+            if (readVersion() == viewVersion) {
+                readView = newView;
+                return newView;
+            }
+        }
+
+        ReadView newView;
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+
+        try {
+            newView = createReadView(readVersion());
+        } finally {
+            for (Stripe stripe : stripes) {
+                stripe.lock.unlock();
+            }
+        }
+
+        readView = newView;
+        return newView;
+    }
+
+    @Override
+    protected void lockAnyTask(int ownerId) {
+        getStripe(ownerId).lock.lock();
+    }
+
+    @Override
+    protected void unlockAnyTask(int ownerId) {
+        getStripe(ownerId).lock.unlock();
+    }
+
+    @Override
+    protected void beginWrite(int ownerId) {
+        getStripe(ownerId).beginWrite();
+    }
+
+    @Override
+    protected void endWrite(int ownerId) {
+        getStripe(ownerId).endWrite();
+    }
+
+    @Override
+    protected void beginWriteAll() {
+        for (Stripe stripe : stripes) {
+            stripe.beginWrite();
+        }
+    }
+
+    @Override
+    protected void endWriteAll() {
+        for (int i = LOCK_STRIPES - 1; i >= 0; i--) {
+            stripes[i].endWrite();
+        }
+    }
+
+    @Override
+    protected void lockSchedule() {
+        scheduleLock.lock();
+    }
+
+    @Override
+    protected void unlockSchedule() {
+        scheduleLock.unlock();
+    }
+
+    private long readVersion() {
+        long viewVersion = 0;
+
+        for (Stripe stripe : stripes) {
+            long sequence = stripe.sequence;
+
+            if ((sequence & 1) != 0) {
+                return -1;
+            }
+            viewVersion += sequence;
+        }
+
+        return viewVersion;
+    }
+
+    private Stripe getStripe(int ownerId) {
+        return stripes[Math.floorMod(ownerId, LOCK_STRIPES)];
+    }
+
+    private static class Stripe {
+        private final Lock lock;
+        private volatile long sequence;
+
+        private Stripe() {
+            this.lock = new ReentrantLock();
+        }
+
+        private void beginWrite() {
+            lock.lock();
+            sequence = sequence + 1;
+        }
+
+        private void endWrite() {
+            sequence = sequence + 1;
+            lock.unlock();
+        }
+    }
+}
\ No newline at end of file
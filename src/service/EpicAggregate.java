@@ -0,0 +1,95 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+class EpicAggregate {
+    private int subtasksCount;
+    private int inProgressCount;
+    private int doneCount;
+    private long durationMinutes;
+    private final NavigableMap<LocalDateTime, Integer> startTimes;
+    private final NavigableMap<LocalDateTime, Integer> endTimes;
+
+    EpicAggregate() {
+        this.startTimes = new TreeMap<>();
+        this.endTimes = new TreeMap<>();
+    }
+
+    void addSubtask(Subtask subtask) {
+        subtasksCount++;
+
+        if (subtask.getStatus() == TaskStatus.IN_PROGRESS) {
+            inProgressCount++;
+        } else if (subtask.getStatus() == TaskStatus.DONE) {
+            doneCount++;
+        }
+
+        if (subtask.getStartTime() != null && subtask.getEndTime() != null) {
+            durationMinutes += subtask.getDuration().toMinutes();
+            startTimes.merge(subtask.getStartTime(), 1, Integer::sum);
+            endTimes.merge(subtask.getEndTime(), 1, Integer::sum);
+        }
+    }
+
+    void removeSubtask(Subtask subtask) {
+        subtasksCount--;
+
+        if (subtask.getStatus() == TaskStatus.IN_PROGRESS) {
+            inProgressCount--;
+        } else if (subtask.getStatus() == TaskStatus.DONE) {
+            doneCount--;
+        }
+
+        if (subtask.getStartTime() != null && subtask.getEndTime() != null) {
+            durationMinutes -= subtask.getDuration().toMinutes();
+            removeTime(startTimes, subtask.getStartTime());
+            removeTime(endTimes, subtask.getEndTime());
+        }
+    }
+
+    void applyTo(Epic epic) {
+        epic.setStatus(calculateStatus());
+
+        if (startTimes.isEmpty()) {
+            epic.setStartTime(null);
+            epic.setEndTime(null);
+            epic.setDuration(Duration.ZERO);
+            return;
+        }
+
+        epic.setStartTime(startTimes.firstKey());
+        epic.setEndTime(endTimes.lastKey());
+        epic.setDuration(Duration.ofMinutes(durationMinutes));
+    }
+
+    private TaskStatus calculateStatus() {
+        if (subtasksCount == 0) {
+            return TaskStatus.NEW;
+        }
+
+        if (inProgressCount > 0) {
+            return TaskStatus.IN_PROGRESS;
+        }
+
+        if (doneCount == subtasksCount) {
+            return TaskStatus.DONE;
+        }
+
+        if (doneCount == 0) {
+            return TaskStatus.NEW;
+        }
+
+        return TaskStatus.IN_PROGRESS;
+    }
+
+    private static void removeTime(NavigableMap<LocalDateTime, Integer> times, LocalDateTime time) {
+        times.computeIfPresent(time, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
\ No newline at end of file
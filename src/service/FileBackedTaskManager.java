@@ -11,173 +11,678 @@ import model.TaskType;
 import util.TaskConverter;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-public class FileBackedTaskManager extends InMemoryTaskManager implements TaskManager {
-    private final Path fileStorage;
+public class FileBackedTaskManager extends InMemoryTaskManager implements TaskManager, AutoCloseable {
     private static final String FILE_FORMAT = "id,type,title,status,description,startTime,duration,endTime,epicId";
+    static final StorageMode DEFAULT_STORAGE_MODE = StorageMode.JOURNAL;
+    static final int DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 1_000;
+    static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1_024;
+    static final Duration DEFAULT_MAX_BATCH_DELAY = Duration.ofMillis(5);
+    private static final SyncPolicy DEFAULT_SYNC_POLICY = SyncPolicy.PER_BATCH;
+    static final SnapshotFormat DEFAULT_SNAPSHOT_FORMAT = SnapshotFormat.CSV;
+    private static final int LOAD_CHUNKS_PER_THREAD = 4;
+    private static final int SAVE_BUFFER_SIZE = 64 * 1024;
+    private static final int TEXT_CACHE_SIZE = 10_000;
+    private final Path fileStorage;
+    private final StorageMode storageMode;
+    private final SnapshotFormat snapshotFormat;
+    private final SnapshotGenerations snapshotGenerations;
+    private final TaskJournal journal;
+    private final GroupCommitWriter groupCommitWriter;
+    private final SegmentedStore segmentedStore;
+    private final HistoryLog historyLog;
+    private final int journalCompactionThreshold;
+    private int journalRecordsCount;
+    private BinaryTextSource mappedTextSource;
 
     public FileBackedTaskManager(Path fileStorage) {
+        this(fileStorage, DEFAULT_STORAGE_MODE);
+    }
+
+    public FileBackedTaskManager(Path fileStorage, StorageMode storageMode) {
+        this(fileStorage, storageMode, DEFAULT_JOURNAL_COMPACTION_THRESHOLD);
+    }
+
+    public FileBackedTaskManager(Path fileStorage, StorageMode storageMode, SnapshotFormat snapshotFormat) {
+        this(
+                Managers.getDefaultHistory(),
+                fileStorage,
+                storageMode,
+                DEFAULT_JOURNAL_COMPACTION_THRESHOLD,
+                defaultQueueCapacity(storageMode),
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_MAX_BATCH_DELAY,
+                DEFAULT_SYNC_POLICY,
+                snapshotFormat
+        );
+    }
+
+    public FileBackedTaskManager(Path fileStorage, StorageMode storageMode, int journalCompactionThreshold) {
+        this(
+                Managers.getDefaultHistory(),
+                fileStorage,
+                storageMode,
+                journalCompactionThreshold,
+                defaultQueueCapacity(storageMode),
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_MAX_BATCH_DELAY,
+                DEFAULT_SYNC_POLICY,
+                DEFAULT_SNAPSHOT_FORMAT
+        );
+    }
+
+    FileBackedTaskManager(
+            HistoryManager historyManager,
+            Path fileStorage,
+            StorageMode storageMode,
+            int journalCompactionThreshold,
+            int queueCapacity,
+            int maxBatchSize,
+            Duration maxBatchDelay,
+            SyncPolicy syncPolicy,
+            SnapshotFormat snapshotFormat
+    ) {
+        super(historyManager);
         this.fileStorage = fileStorage;
+        this.storageMode = storageMode;
+        this.snapshotFormat = snapshotFormat;
+        this.snapshotGenerations = new SnapshotGenerations(fileStorage);
+        this.journal = new TaskJournal(fileStorage);
+        this.historyLog = new HistoryLog(fileStorage);
+        this.journalCompactionThreshold = journalCompactionThreshold;
+
+        if (storageMode == StorageMode.GROUP_COMMIT || storageMode == StorageMode.ASYNC) {
+            this.groupCommitWriter = new GroupCommitWriter(
+                    journal,
+                    snapshotGenerations,
+                    queueCapacity,
+                    maxBatchSize,
+                    maxBatchDelay,
+                    syncPolicy
+            );
+        } else {
+            this.groupCommitWriter = null;
+        }
+
+        if (storageMode == StorageMode.SEGMENTED) {
+            this.segmentedStore = new SegmentedStore(fileStorage, journalCompactionThreshold);
+        } else {
+            this.segmentedStore = null;
+        }
     }
 
     @Override
     public void removeAllTasks() {
+        List<Integer> removedIds = new ArrayList<>(tasks.keySet());
         super.removeAllTasks();
-        save();
+        persistCleared(TaskType.TASK);
+        recordRemovals(removedIds);
     }
 
     @Override
     public void removeAllEpics() {
+        List<Integer> removedIds = new ArrayList<>(epics.keySet());
+        removedIds.addAll(subtasks.keySet());
         super.removeAllEpics();
-        save();
+        persistCleared(TaskType.EPIC);
+        recordRemovals(removedIds);
     }
 
     @Override
     public void removeAllSubtasks() {
+        List<Integer> removedIds = new ArrayList<>(subtasks.keySet());
         super.removeAllSubtasks();
-        save();
+        persistCleared(TaskType.SUBTASK);
+        recordRemovals(removedIds);
+    }
+
+    @Override
+    public Task getTaskById(int id) throws NotFoundException {
+        Task task = super.getTaskById(id);
+        recordView(id);
+        return task;
+    }
+
+    @Override
+    public Epic getEpicById(int id) throws NotFoundException {
+        Epic epic = super.getEpicById(id);
+        recordView(id);
+        return epic;
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) throws NotFoundException {
+        Subtask subtask = super.getSubtaskById(id);
+        recordView(id);
+        return subtask;
     }
 
     @Override
     public Task createTask(Task task) throws OverlapException {
         Task createdTask = super.createTask(task);
-        save();
+        persistChanged(createdTask.getId());
         return createdTask;
     }
 
     @Override
     public void createEpic(Epic epic) {
         super.createEpic(epic);
-        save();
+        persistChanged(epic.getId());
     }
 
     @Override
     public Subtask createSubtask(Subtask subtask) throws NotFoundException, OverlapException {
         Subtask createdSubtask = super.createSubtask(subtask);
-        save();
+        persistChanged(createdSubtask.getId());
         return createdSubtask;
     }
 
     @Override
     public Task updateTask(Task task) throws NotFoundException, OverlapException {
         Task updatedTask = super.updateTask(task);
-        save();
+        persistChanged(updatedTask.getId());
         return updatedTask;
     }
 
     @Override
     public Epic updateEpic(Epic epic) throws NotFoundException {
         Epic updatedEpic = super.updateEpic(epic);
-        save();
+        persistChanged(updatedEpic.getId());
         return updatedEpic;
     }
 
     @Override
     public Subtask updateSubtask(Subtask subtask) throws NotFoundException, OverlapException {
         Subtask updatedSubtask = super.updateSubtask(subtask);
-        save();
+        persistChanged(updatedSubtask.getId());
         return updatedSubtask;
     }
 
     @Override
     public Task removeTaskById(int id) throws NotFoundException {
         Task task = super.removeTaskById(id);
-        save();
+        persistChanged(id);
+        recordRemovals(List.of(id));
         return task;
     }
 
     @Override
     public Epic removeEpicById(int id) throws NotFoundException {
         Epic epic = super.removeEpicById(id);
-        save();
+        List<Integer> removedIds = new ArrayList<>();
+        removedIds.add(id);
+        removedIds.addAll(epic.getSubtasksIds());
+        persistChanged(removedIds);
+        recordRemovals(removedIds);
         return epic;
     }
 
     @Override
     public Subtask removeSubtaskById(int id) throws NotFoundException {
         Subtask subtask = super.removeSubtaskById(id);
-        save();
+        persistChanged(id);
+        recordRemovals(List.of(id));
         return subtask;
     }
 
     public static FileBackedTaskManager loadFromFile(Path file) throws ManagerLoadException {
-        try (BufferedReader br = new BufferedReader(new FileReader(file.toString(), UTF_8))) {
-            FileBackedTaskManager fileBackedTaskManager = new FileBackedTaskManager(file);
-            int maxId = 0;
+        return loadFromFile(file, DEFAULT_STORAGE_MODE);
+    }
 
-            br.readLine();
-            while (br.ready()) {
-                String line = br.readLine();
-                String[] lineElements = line.split(",");
+    public static FileBackedTaskManager loadFromFile(Path file, StorageMode storageMode) throws ManagerLoadException {
+        return loadFromFile(file, storageMode, DEFAULT_SNAPSHOT_FORMAT);
+    }
 
-                int taskId = Integer.parseInt(lineElements[0]);
-                TaskType taskType = TaskType.valueOf(lineElements[1]);
+    public static FileBackedTaskManager loadFromFile(
+            Path file,
+            StorageMode storageMode,
+            SnapshotFormat snapshotFormat
+    ) throws ManagerLoadException {
+        return loadFromFile(file, storageMode, snapshotFormat, LoadMode.EAGER);
+    }
 
-                if (taskId > maxId) {
-                    maxId = taskId;
-                }
+    public static FileBackedTaskManager loadFromFile(
+            Path file,
+            StorageMode storageMode,
+            SnapshotFormat snapshotFormat,
+            LoadMode loadMode
+    ) throws ManagerLoadException, IllegalArgumentException {
+        return loadFromFile(file, Managers.getDefaultHistory(), storageMode, snapshotFormat, loadMode);
+    }
 
-                switch (taskType) {
-                    case TaskType.TASK:
-                        Task task = TaskConverter.anyTaskFromCsvString(line);
-                        fileBackedTaskManager.tasks.put(taskId, task);
-
-                        if (task.getStartTime() != null) {
-                            fileBackedTaskManager.prioritizedTasks.add(task);
-                        }
-                        break;
-
-                    case TaskType.EPIC:
-                        fileBackedTaskManager.epics.put(taskId, (Epic) TaskConverter.anyTaskFromCsvString(line));
-                        break;
-
-                    case TaskType.SUBTASK:
-                        Subtask subtask = (Subtask) TaskConverter.anyTaskFromCsvString(line);
-                        int epicId = Integer.parseInt(lineElements[8]);
-                        fileBackedTaskManager.epics.get(epicId).getSubtasksIds().add(taskId);
-                        fileBackedTaskManager.subtasks.put(taskId, subtask);
-
-                        if (subtask.getStartTime() != null) {
-                            fileBackedTaskManager.prioritizedTasks.add(subtask);
-                        }
-                        break;
-                }
+    static FileBackedTaskManager loadFromFile(
+            Path file,
+            HistoryManager historyManager,
+            StorageMode storageMode,
+            SnapshotFormat snapshotFormat,
+            LoadMode loadMode
+    ) throws ManagerLoadException, IllegalArgumentException {
+        if (loadMode == LoadMode.LAZY && snapshotFormat != SnapshotFormat.BINARY) {
+            throw new IllegalArgumentException("Ленивая загрузка поддерживается только для формата "
+                    + SnapshotFormat.BINARY);
+        }
+
+        FileBackedTaskManager fileBackedTaskManager = new FileBackedTaskManager(
+                historyManager,
+                file,
+                storageMode,
+                DEFAULT_JOURNAL_COMPACTION_THRESHOLD,
+                defaultQueueCapacity(storageMode),
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_MAX_BATCH_DELAY,
+                DEFAULT_SYNC_POLICY,
+                snapshotFormat
+        );
+
+        try {
+            Map<Integer, Task> anyTasks = fileBackedTaskManager.readSnapshot(loadMode);
+            int journalRecordsCount = fileBackedTaskManager.replayJournal(anyTasks);
+
+            fileBackedTaskManager.restoreAnyTasks(anyTasks.values());
+            fileBackedTaskManager.journalRecordsCount = journalRecordsCount;
+            fileBackedTaskManager.restoreHistory();
+
+            if (journalRecordsCount > 0 && storageMode == StorageMode.SNAPSHOT) {
+                fileBackedTaskManager.compact();
             }
 
-            fileBackedTaskManager.tasksCount = maxId;
+            if (fileBackedTaskManager.segmentedStore != null && !fileBackedTaskManager.segmentedStore.exists()) {
+                fileBackedTaskManager.persistChanged(new ArrayList<>(anyTasks.keySet()));
+            }
 
             return fileBackedTaskManager;
         } catch (IndexOutOfBoundsException | IllegalArgumentException exception) {
-            System.out.printf("[ERROR] Неверный формат файла.\nТекст ошибки: %s.\n", exception.getMessage());
-            return new FileBackedTaskManager(file);
+            fileBackedTaskManager.close();
+            SnapshotGenerations snapshotGenerations = fileBackedTaskManager.snapshotGenerations;
+
+            try {
+                if (snapshotGenerations.setAsideCorrupted() != null && snapshotGenerations.hasIntactPrevious()) {
+                    return loadFromFile(file, historyManager, storageMode, snapshotFormat, loadMode);
+                }
+            } catch (IOException setAsideException) {
+                throw new ManagerLoadException(setAsideException.getMessage());
+            }
+
+            throw new ManagerLoadException("Неверный формат файла " + file + ": " + exception.getMessage());
         } catch (IOException exception) {
+            fileBackedTaskManager.close();
             throw new ManagerLoadException(exception.getMessage());
         }
     }
 
-    private void save() throws ManagerSaveException {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(fileStorage.toString(), UTF_8))) {
-            List<Task> allTasks = getAllTasks();
-            List<Epic> allEpics = getAllEpics();
-            List<Subtask> allSubtasks = getAllSubtasks();
+    public CompletableFuture<Void> whenDurable() {
+        if (groupCommitWriter == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return groupCommitWriter.getLastWrite();
+    }
+
+    public void flush() throws ManagerSaveException {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.flush();
+        } else {
+            try {
+                journal.sync();
+            } catch (IOException exception) {
+                throw new ManagerSaveException(exception.getMessage());
+            }
+        }
+
+        flushHistory();
+    }
+
+    public boolean awaitDurable(Duration timeout) throws ManagerSaveException {
+        if (groupCommitWriter == null) {
+            return true;
+        }
+
+        return groupCommitWriter.awaitDurable(timeout);
+    }
+
+    public PersistenceMetrics getPersistenceMetrics() {
+        if (groupCommitWriter == null) {
+            return new PersistenceMetrics(0, 0, Duration.ZERO);
+        }
+
+        return groupCommitWriter.getMetrics();
+    }
+
+    @Override
+    public void close() throws ManagerSaveException {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.close();
+        }
+
+        IOException historyFailure = null;
+
+        try {
+            historyLog.close();
+        } catch (IOException exception) {
+            historyFailure = exception;
+        }
 
-            bw.write(FILE_FORMAT);
+        try {
+            journal.close();
 
-            for (Task task : allTasks) {
-                bw.write(String.format("\n%s", TaskConverter.anyTaskToCsvString(task)));
+            if (segmentedStore != null) {
+                segmentedStore.close();
             }
-            for (Epic epic : allEpics) {
-                bw.write(String.format("\n%s", TaskConverter.anyTaskToCsvString(epic)));
+        } catch (IOException exception) {
+            throw new ManagerSaveException(exception.getMessage());
+        }
+
+        if (historyFailure != null) {
+            throw new ManagerSaveException("Не удалось записать историю просмотров: " + historyFailure.getMessage());
+        }
+    }
+
+    private Map<Integer, Task> readSnapshot(LoadMode loadMode) throws IOException {
+        Map<Integer, Task> anyTasks = new LinkedHashMap<>();
+
+        if (segmentedStore != null && segmentedStore.exists()) {
+            return anyTasks;
+        }
+
+        Path snapshotFile = snapshotGenerations.resolveReadable();
+
+        if (storageMode != StorageMode.SNAPSHOT && Files.notExists(snapshotFile)) {
+            return anyTasks;
+        }
+
+        if (BinarySnapshot.isBinarySnapshot(snapshotFile)) {
+            mappedTextSource = BinarySnapshot.read(snapshotFile, anyTasks, loadMode, TEXT_CACHE_SIZE);
+            return anyTasks;
+        }
+
+        if (CompressedSnapshot.isCompressedSnapshot(snapshotFile)) {
+            CompressedSnapshot.read(snapshotFile, anyTasks);
+            return anyTasks;
+        }
+
+        byte[] content = Files.readAllBytes(snapshotFile);
+        int chunksCount = ForkJoinPool.getCommonPoolParallelism() * LOAD_CHUNKS_PER_THREAD;
+        int[] chunkStarts = new int[chunksCount + 1];
+        int position = TaskConverter.nextRecordStart(content, 0, content.length);
+        chunkStarts[0] = position;
+
+        for (int i = 1; i < chunksCount; i++) {
+            int chunkStart = chunkStarts[0] + (int) ((long) (content.length - chunkStarts[0]) * i / chunksCount);
+
+            while (position < chunkStart) {
+                position = TaskConverter.nextRecordStart(content, position, content.length);
             }
-            for (Subtask subtask : allSubtasks) {
-                bw.write(String.format("\n%s", TaskConverter.anyTaskToCsvString(subtask)));
+            chunkStarts[i] = position;
+        }
+        chunkStarts[chunksCount] = content.length;
+
+        List<List<Task>> chunks = IntStream.range(0, chunksCount)
+                .parallel()
+                .mapToObj(i -> readCsvChunk(content, chunkStarts[i], chunkStarts[i + 1]))
+                .toList();
+
+        for (List<Task> chunk : chunks) {
+            for (Task anyTask : chunk) {
+                anyTasks.put(anyTask.getId(), anyTask);
             }
+        }
+
+        return anyTasks;
+    }
+
+    private static int defaultQueueCapacity(StorageMode storageMode) {
+        return storageMode == StorageMode.ASYNC ? DEFAULT_QUEUE_CAPACITY : Integer.MAX_VALUE;
+    }
+
+    private int replayJournal(Map<Integer, Task> anyTasks) throws IOException {
+        List<String> journalRecords;
+
+        try {
+            journalRecords = segmentedStore != null ? segmentedStore.readRecords() : journal.readRecords();
+        } catch (IllegalArgumentException exception) {
+            throw new IOException(exception.getMessage(), exception);
+        }
+
+        int appliedRecordsCount = 0;
+
+        while (appliedRecordsCount < journalRecords.size()) {
+            try {
+                TaskJournal.apply(journalRecords.get(appliedRecordsCount), anyTasks);
+                appliedRecordsCount++;
+            } catch (IndexOutOfBoundsException | IllegalArgumentException exception) {
+                System.out.printf("[ERROR] Журнал обрезан перед повреждённой записью %d.\nТекст ошибки: %s.\n",
+                        appliedRecordsCount + 1, exception.getMessage());
+
+                if (segmentedStore != null) {
+                    segmentedStore.truncate(appliedRecordsCount);
+                } else {
+                    journal.truncate(appliedRecordsCount);
+                }
+                break;
+            }
+        }
+
+        if (segmentedStore != null) {
+            segmentedStore.scheduleCompaction();
+        }
+
+        return appliedRecordsCount;
+    }
+
+    private static List<Task> readCsvChunk(byte[] content, int from, int to)
+            throws IndexOutOfBoundsException, IllegalArgumentException {
+        return TaskConverter.splitCsvRecords(content, from, to)
+                .stream()
+                .map(TaskConverter::anyTaskFromCsvString)
+                .toList();
+    }
+
+    private Task findAnyTask(int id) {
+        Task anyTask = tasks.get(id);
+
+        if (anyTask == null) {
+            anyTask = epics.get(id);
+        }
+        if (anyTask == null) {
+            anyTask = subtasks.get(id);
+        }
+
+        return anyTask;
+    }
+
+    private void restoreHistory() throws IOException {
+        String currentPartition = HistoryPartition.current();
+
+        try {
+            for (HistoryLog.Entry entry : historyLog.readEntries()) {
+                Task anyTask = findAnyTask(entry.getId());
+
+                if (anyTask != null) {
+                    HistoryPartition.set(entry.getPartition());
+                    historyManager.add(anyTask);
+                }
+            }
+        } finally {
+            HistoryPartition.set(currentPartition);
+        }
+
+        historyLog.scheduleWrite();
+    }
+
+    private void recordView(int id) {
+        historyLog.append(id, System.currentTimeMillis(), HistoryPartition.current());
+    }
+
+    private void recordRemovals(List<Integer> ids) {
+        if (!ids.isEmpty()) {
+            historyLog.appendRemovals(ids);
+        }
+    }
+
+    private void flushHistory() throws ManagerSaveException {
+        try {
+            historyLog.flush();
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Не удалось записать историю просмотров: " + exception.getMessage());
+        }
+    }
+
+    private void persistChanged(int id) throws ManagerSaveException {
+        persistChanged(List.of(id));
+    }
+
+    private void persistChanged(List<Integer> ids) throws ManagerSaveException {
+        if (storageMode == StorageMode.SNAPSHOT) {
+            save();
+            return;
+        }
+
+        List<String> journalRecords = new ArrayList<>(ids.size());
+
+        for (Integer id : ids) {
+            Task anyTask = findAnyTask(id);
+            journalRecords.add(anyTask != null ? TaskJournal.putRecord(anyTask) : TaskJournal.deleteRecord(id));
+        }
+
+        persist(journalRecords);
+    }
+
+    private void persistCleared(TaskType taskType) throws ManagerSaveException {
+        if (storageMode == StorageMode.SNAPSHOT) {
+            save();
+            return;
+        }
+
+        persist(List.of(TaskJournal.clearRecord(taskType)));
+    }
+
+    private void persist(List<String> journalRecords) throws ManagerSaveException {
+        if (journalRecords.isEmpty()) {
+            return;
+        }
+
+        if (segmentedStore != null) {
+            try {
+                segmentedStore.append(journalRecords);
+            } catch (IOException exception) {
+                throw new ManagerSaveException(exception.getMessage());
+            }
+            return;
+        }
+
+        if (groupCommitWriter != null) {
+            groupCommitWriter.submit(journalRecords);
+        } else {
+            try {
+                journal.append(journalRecords);
+            } catch (IOException exception) {
+                throw new ManagerSaveException(exception.getMessage());
+            }
+        }
+
+        journalRecordsCount += journalRecords.size();
+        int recordsCount = tasks.size() + epics.size() + subtasks.size();
+
+        if (journalRecordsCount >= Math.max(journalCompactionThreshold, recordsCount)) {
+            compact();
+        }
+    }
+
+    private void compact() throws ManagerSaveException {
+        journalRecordsCount = 0;
+
+        if (groupCommitWriter != null) {
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+
+            try {
+                writeSnapshot(snapshot);
+            } catch (IOException | ArithmeticException exception) {
+                throw new ManagerSaveException(exception.getMessage());
+            }
+
+            groupCommitWriter.submitCompaction(snapshot.toByteArray());
+            return;
+        }
+
+        save();
+
+        try {
+            journal.clear();
         } catch (IOException exception) {
             throw new ManagerSaveException(exception.getMessage());
         }
     }
+
+    private void save() throws ManagerSaveException {
+        try {
+            snapshotGenerations.write(this::writeSnapshot);
+        } catch (IOException | ArithmeticException exception) {
+            throw new ManagerSaveException(exception.getMessage());
+        }
+    }
+
+    private void writeSnapshot(OutputStream outputStream) throws IOException {
+        if (mappedTextSource != null) {
+            mappedTextSource.detach();
+            mappedTextSource = null;
+        }
+
+        ReadView readView = getReadView();
+
+        if (snapshotFormat != SnapshotFormat.CSV) {
+            List<Task> anyTasks = new ArrayList<>(
+                    readView.getTasks().size() + readView.getEpics().size() + readView.getSubtasks().size()
+            );
+            anyTasks.addAll(readView.getTasks());
+            anyTasks.addAll(readView.getEpics());
+            anyTasks.addAll(readView.getSubtasks());
+
+            if (snapshotFormat == SnapshotFormat.BINARY) {
+                BinarySnapshot.write(outputStream, anyTasks);
+            } else {
+                CompressedSnapshot.write(outputStream, anyTasks);
+            }
+            return;
+        }
+
+        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8))) {
+            StringBuilder sb = new StringBuilder(SAVE_BUFFER_SIZE);
+            sb.append(FILE_FORMAT);
+
+            for (Task task : readView.getTasks()) {
+                appendCsvRecord(bw, sb, task);
+            }
+            for (Epic epic : readView.getEpics()) {
+                appendCsvRecord(bw, sb, epic);
+            }
+            for (Subtask subtask : readView.getSubtasks()) {
+                appendCsvRecord(bw, sb, subtask);
+            }
+
+            bw.append(sb);
+        }
+    }
+
+    private static void appendCsvRecord(Writer writer, StringBuilder sb, Task anyTask) throws IOException {
+        sb.append('\n');
+        TaskConverter.appendCsv(sb, anyTask);
+
+        if (sb.length() >= SAVE_BUFFER_SIZE) {
+            writer.append(sb);
+            sb.setLength(0);
+        }
+    }
 }
\ No newline at end of file
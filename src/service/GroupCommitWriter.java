@@ -0,0 +1,291 @@
+package service;
+
+import exception.ManagerSaveException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+class GroupCommitWriter implements AutoCloseable {
+    private static final long IDLE_POLL_MILLIS = 100;
+    private final TaskJournal journal;
+    private final SnapshotGenerations snapshotGenerations;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final SyncPolicy syncPolicy;
+    private final BlockingQueue<PendingWrite> pendingWrites;
+    private final Thread writerThread;
+    private final AtomicLong submittedWrites;
+    private final AtomicLong completedWrites;
+    private final Object submitLock;
+    private volatile boolean running;
+    private final AtomicReference<ManagerSaveException> failure;
+    private volatile CompletableFuture<Void> lastWrite;
+    private volatile PendingWrite oldestWrite;
+
+    GroupCommitWriter(
+            TaskJournal journal,
+            SnapshotGenerations snapshotGenerations,
+            int queueCapacity,
+            int maxBatchSize,
+            Duration maxBatchDelay,
+            SyncPolicy syncPolicy
+    ) {
+        this.journal = journal;
+        this.snapshotGenerations = snapshotGenerations;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+        this.syncPolicy = syncPolicy;
+        this.pendingWrites = new LinkedBlockingQueue<>(queueCapacity);
+        this.submittedWrites = new AtomicLong();
+        this.completedWrites = new AtomicLong();
+        this.submitLock = new Object();
+        this.failure = new AtomicReference<>();
+        this.lastWrite = CompletableFuture.completedFuture(null);
+        this.running = true;
+        this.writerThread = new Thread(this::writeBatches, "group-commit-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    CompletableFuture<Void> submit(List<String> records) throws ManagerSaveException {
+        return enqueue(new PendingWrite(records, null));
+    }
+
+    CompletableFuture<Void> submitCompaction(byte[] snapshot) throws ManagerSaveException {
+        return enqueue(new PendingWrite(List.of(), snapshot));
+    }
+
+    CompletableFuture<Void> getLastWrite() {
+        return lastWrite.thenRun(this::checkFailure);
+    }
+
+    void flush() throws ManagerSaveException {
+        try {
+            lastWrite.join();
+        } catch (CompletionException exception) {
+            throw new ManagerSaveException(exception.getCause().getMessage());
+        }
+
+        checkFailure();
+    }
+
+    boolean awaitDurable(Duration timeout) throws ManagerSaveException {
+        try {
+            lastWrite.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            checkFailure();
+            return true;
+        } catch (TimeoutException exception) {
+            return false;
+        } catch (ExecutionException exception) {
+            throw new ManagerSaveException(exception.getCause().getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    PersistenceMetrics getMetrics() {
+        PendingWrite pendingWrite = oldestWrite;
+
+        if (pendingWrite == null || pendingWrite.future.isDone()) {
+            pendingWrite = pendingWrites.peek();
+        }
+
+        Duration lag = pendingWrite != null
+                ? Duration.ofNanos(System.nanoTime() - pendingWrite.submittedNanos)
+                : Duration.ZERO;
+
+        return new PersistenceMetrics(
+                pendingWrites.size(),
+                submittedWrites.get() - completedWrites.get(),
+                lag
+        );
+    }
+
+    @Override
+    public void close() {
+        synchronized (submitLock) {
+            running = false;
+        }
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        PendingWrite pendingWrite = pendingWrites.poll();
+
+        while (pendingWrite != null) {
+            complete(pendingWrite, new ManagerSaveException("Запись в журнал остановлена"));
+            pendingWrite = pendingWrites.poll();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(PendingWrite pendingWrite) throws ManagerSaveException {
+        synchronized (submitLock) {
+            if (!running) {
+                throw new ManagerSaveException("Запись в журнал остановлена");
+            }
+
+            try {
+                pendingWrites.put(pendingWrite);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new ManagerSaveException("Ожидание места в очереди записи прервано");
+            }
+
+            submittedWrites.incrementAndGet();
+            lastWrite = pendingWrite.future;
+        }
+
+        return pendingWrite.future;
+    }
+
+    private void writeBatches() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !pendingWrites.isEmpty()) {
+            try {
+                PendingWrite firstWrite = pendingWrites.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (firstWrite == null) {
+                    continue;
+                }
+
+                oldestWrite = firstWrite;
+                batch.add(firstWrite);
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    PendingWrite nextWrite = pendingWrites.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                    if (nextWrite == null) {
+                        break;
+                    }
+
+                    batch.add(nextWrite);
+                }
+            } catch (InterruptedException exception) {
+                running = false;
+            }
+
+            writeBatch(batch);
+            oldestWrite = null;
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        int recordsStart = 0;
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).snapshot != null) {
+                writeRecords(batch.subList(recordsStart, i));
+                writeSnapshot(batch.get(i));
+                recordsStart = i + 1;
+            }
+        }
+
+        writeRecords(batch.subList(recordsStart, batch.size()));
+    }
+
+    private void writeRecords(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (syncPolicy == SyncPolicy.PER_OPERATION) {
+                for (PendingWrite pendingWrite : batch) {
+                    journal.append(pendingWrite.records);
+                    journal.sync();
+                    complete(pendingWrite, null);
+                }
+            } else {
+                List<String> records = new ArrayList<>();
+
+                for (PendingWrite pendingWrite : batch) {
+                    records.addAll(pendingWrite.records);
+                }
+
+                journal.append(TaskJournal.coalesce(records));
+
+                if (syncPolicy == SyncPolicy.PER_BATCH) {
+                    journal.sync();
+                }
+
+                for (PendingWrite pendingWrite : batch) {
+                    complete(pendingWrite, null);
+                }
+            }
+        } catch (IOException exception) {
+            ManagerSaveException saveException = new ManagerSaveException(exception.getMessage());
+
+            for (PendingWrite pendingWrite : batch) {
+                if (!pendingWrite.future.isDone()) {
+                    complete(pendingWrite, saveException);
+                }
+            }
+        }
+    }
+
+    private void writeSnapshot(PendingWrite compaction) {
+        try {
+            snapshotGenerations.write(outputStream -> {
+                try (OutputStream out = outputStream) {
+                    out.write(compaction.snapshot);
+                }
+            });
+            journal.clear();
+            complete(compaction, null);
+        } catch (IOException exception) {
+            complete(compaction, new ManagerSaveException(exception.getMessage()));
+        }
+    }
+
+    private void checkFailure() throws ManagerSaveException {
+        ManagerSaveException earlierFailure = failure.getAndSet(null);
+
+        if (earlierFailure != null) {
+            throw new ManagerSaveException(earlierFailure.getMessage());
+        }
+    }
+
+    private void complete(PendingWrite pendingWrite, ManagerSaveException exception) {
+        completedWrites.incrementAndGet();
+
+        if (exception != null) {
+            failure.set(exception);
+            pendingWrite.future.completeExceptionally(exception);
+        } else {
+            pendingWrite.future.complete(null);
+        }
+    }
+
+    private static class PendingWrite {
+        private final List<String> records;
+        private final byte[] snapshot;
+        private final CompletableFuture<Void> future;
+        private final long submittedNanos;
+
+        private PendingWrite(List<String> records, byte[] snapshot) {
+            this.records = records;
+            this.snapshot = snapshot;
+            this.future = new CompletableFuture<>();
+            this.submittedNanos = System.nanoTime();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,308 @@
+package service;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class HistoryLog implements AutoCloseable {
+    static final int COMPACTION_THRESHOLD = 1_000;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final String REMOVED = "-";
+    private final Path historyFile;
+    private final Path temporaryFile;
+    private final ExecutorService writer;
+    private final StringBuilder pendingRecords;
+    private int pendingCount;
+    private boolean writeScheduled;
+    private IOException failure;
+    private FileChannel historyChannel;
+    private int recordsCount;
+    private int liveCount;
+
+    HistoryLog(Path fileStorage) {
+        this.historyFile = fileStorage.resolveSibling(fileStorage.getFileName() + ".history");
+        this.temporaryFile = fileStorage.resolveSibling(fileStorage.getFileName() + ".history.tmp");
+        this.pendingRecords = new StringBuilder(BUFFER_SIZE);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    synchronized List<Entry> readEntries() throws IOException {
+        return new ArrayList<>(readLiveEntries().keySet());
+    }
+
+    synchronized void append(int id, long timestamp, String partition) {
+        pendingRecords.append(id).append(',').append(timestamp).append(',')
+                .append(URLEncoder.encode(partition, UTF_8)).append('\n');
+        pendingCount++;
+
+        if (pendingRecords.length() >= BUFFER_SIZE) {
+            scheduleWrite();
+        }
+    }
+
+    synchronized void appendRemovals(List<Integer> ids) {
+        for (Integer id : ids) {
+            pendingRecords.append(id).append(',').append(REMOVED).append('\n');
+        }
+        pendingCount += ids.size();
+
+        if (pendingRecords.length() >= BUFFER_SIZE) {
+            scheduleWrite();
+        }
+    }
+
+    synchronized void scheduleWrite() {
+        if (!writeScheduled && !writer.isShutdown()) {
+            writeScheduled = true;
+            writer.execute(this::writePending);
+        }
+    }
+
+    void flush() throws IOException {
+        try {
+            writer.submit(this::writePending).get();
+        } catch (RejectedExecutionException exception) {
+            checkFailure();
+            return;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            throw new IOException(exception.getCause());
+        }
+
+        checkFailure();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (!writer.isShutdown()) {
+                writer.execute(this::writePending);
+                writer.shutdown();
+            }
+        }
+
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (historyChannel != null) {
+                historyChannel.close();
+                historyChannel = null;
+            }
+        }
+
+        checkFailure();
+    }
+
+    private void writePending() {
+        String records;
+        int count;
+
+        synchronized (this) {
+            records = pendingRecords.toString();
+            count = pendingCount;
+            pendingRecords.setLength(0);
+            pendingCount = 0;
+            writeScheduled = false;
+        }
+
+        try {
+            if (!records.isEmpty()) {
+                write(openChannel(), records);
+                recordsCount += count;
+            }
+
+            if (recordsCount >= Math.max(COMPACTION_THRESHOLD, 2 * liveCount)) {
+                compact();
+            }
+        } catch (IOException exception) {
+            System.out.printf("[ERROR] Не удалось записать историю просмотров.\nТекст ошибки: %s.\n",
+                    exception.getMessage());
+
+            synchronized (this) {
+                failure = exception;
+            }
+        }
+    }
+
+    private synchronized void checkFailure() throws IOException {
+        IOException currentFailure = failure;
+
+        if (currentFailure != null) {
+            failure = null;
+            throw currentFailure;
+        }
+    }
+
+    private void compact() throws IOException {
+        Map<Entry, Long> entries = readLiveEntries();
+        StringBuilder sb = new StringBuilder(entries.size() * 24);
+
+        for (Map.Entry<Entry, Long> entry : entries.entrySet()) {
+            sb.append(entry.getKey().getId()).append(',').append(entry.getValue()).append(',')
+                    .append(URLEncoder.encode(entry.getKey().getPartition(), UTF_8)).append('\n');
+        }
+
+        if (historyChannel != null) {
+            historyChannel.close();
+            historyChannel = null;
+        }
+
+        try (FileChannel channel = FileChannel.open(
+                temporaryFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            write(channel, sb.toString());
+            channel.force(false);
+        }
+
+        Files.move(temporaryFile, historyFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        recordsCount = entries.size();
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (historyChannel == null) {
+            historyChannel = FileChannel.open(
+                    historyFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+            );
+        }
+
+        return historyChannel;
+    }
+
+    private Map<Entry, Long> readLiveEntries() throws IOException {
+        Map<Entry, Long> entries = new LinkedHashMap<>();
+        Map<Integer, Set<String>> partitionsById = new HashMap<>();
+        recordsCount = 0;
+        liveCount = 0;
+
+        if (Files.notExists(historyFile)) {
+            return entries;
+        }
+
+        String content = Files.readString(historyFile, US_ASCII);
+        int lineStart = 0;
+        int lineEnd = content.indexOf('\n');
+
+        while (lineEnd >= 0) {
+            int separatorIndex = content.indexOf(',', lineStart);
+
+            if (separatorIndex > lineStart && separatorIndex < lineEnd) {
+                try {
+                    int id = Integer.parseInt(content, lineStart, separatorIndex, 10);
+
+                    if (lineEnd - separatorIndex - 1 == REMOVED.length()
+                            && content.startsWith(REMOVED, separatorIndex + 1)) {
+                        for (String partition : partitionsById.getOrDefault(id, Set.of())) {
+                            entries.remove(new Entry(id, partition));
+                        }
+                        partitionsById.remove(id);
+                    } else {
+                        int partitionIndex = content.indexOf(',', separatorIndex + 1);
+
+                        if (partitionIndex < 0 || partitionIndex > lineEnd) {
+                            partitionIndex = lineEnd;
+                        }
+
+                        long timestamp = Long.parseLong(content, separatorIndex + 1, partitionIndex, 10);
+                        String partition = partitionIndex < lineEnd
+                                ? URLDecoder.decode(content.substring(partitionIndex + 1, lineEnd), UTF_8)
+                                : HistoryPartition.DEFAULT_KEY;
+                        Entry entry = new Entry(id, partition);
+                        entries.remove(entry);
+                        entries.put(entry, timestamp);
+                        partitionsById.computeIfAbsent(id, k -> new HashSet<>()).add(partition);
+                    }
+                    recordsCount++;
+                } catch (IllegalArgumentException exception) {
+                    recordsCount++;
+                }
+            }
+
+            lineStart = lineEnd + 1;
+            lineEnd = content.indexOf('\n', lineStart);
+        }
+
+        liveCount = entries.size();
+        return entries;
+    }
+
+    private static void write(FileChannel channel, String value) throws IOException {
+        ByteBuffer buffer = US_ASCII.encode(value);
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static final class Entry {
+        private final int id;
+        private final String partition;
+
+        Entry(int id, String partition) {
+            this.id = id;
+            this.partition = partition;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        String getPartition() {
+            return partition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Entry entry = (Entry) o;
+            return id == entry.id && Objects.equals(partition, entry.partition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, partition);
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,8 @@ package service;
 import model.Task;
 
 import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 public interface HistoryManager {
 
@@ -11,4 +13,16 @@ public interface HistoryManager {
     void remove(int id);
 
     List<Task> getHistory();
+
+    default List<Task> getHistory(int offset, int limit) throws IllegalArgumentException {
+        return getHistory()
+                .stream()
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    default void setTaskResolver(IntFunction<Task> taskResolver) {
+
+    }
 }
\ No newline at end of file
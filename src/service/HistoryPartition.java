@@ -0,0 +1,22 @@
+package service;
+
+public final class HistoryPartition {
+    public static final String DEFAULT_KEY = "";
+    private static final ThreadLocal<String> currentKey = ThreadLocal.withInitial(() -> DEFAULT_KEY);
+
+    private HistoryPartition() {
+
+    }
+
+    public static String current() {
+        return currentKey.get();
+    }
+
+    public static void set(String key) {
+        currentKey.set(key != null ? key : DEFAULT_KEY);
+    }
+
+    public static void clear() {
+        currentKey.remove();
+    }
+}
\ No newline at end of file
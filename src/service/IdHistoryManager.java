@@ -0,0 +1,69 @@
+package service;
+
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class IdHistoryManager implements HistoryManager {
+    private final LruIndex index;
+    private IntFunction<Task> taskResolver;
+
+    public IdHistoryManager(int capacity) throws IllegalArgumentException {
+        this.index = new LruIndex(capacity);
+    }
+
+    public int getCapacity() {
+        return index.capacity();
+    }
+
+    @Override
+    public void add(Task task) {
+        index.touch(task.getId());
+    }
+
+    @Override
+    public void remove(int id) {
+        index.remove(id);
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return getHistory(0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> getHistory(int offset, int limit) throws IllegalArgumentException {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Некорректная страница истории: " + offset + ", " + limit);
+        }
+
+        if (taskResolver == null) {
+            throw new IllegalStateException("Не задан источник задач для истории");
+        }
+
+        List<Task> resultList = new ArrayList<>(Math.min(limit, index.size()));
+        int slot = index.head();
+
+        for (int i = 0; i < offset && slot != LruIndex.NO_SLOT; i++) {
+            slot = index.next(slot);
+        }
+
+        while (slot != LruIndex.NO_SLOT && resultList.size() < limit) {
+            Task task = taskResolver.apply(index.idAt(slot));
+
+            if (task != null) {
+                resultList.add(task);
+            }
+            slot = index.next(slot);
+        }
+
+        return resultList;
+    }
+
+    @Override
+    public void setTaskResolver(IntFunction<Task> taskResolver) {
+        this.taskResolver = taskResolver;
+    }
+}
\ No newline at end of file
@@ -6,25 +6,58 @@ import model.Task;
 import model.Epic;
 import model.Subtask;
 import model.TaskStatus;
+import model.TaskType;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class InMemoryTaskManager implements TaskManager {
-    protected int tasksCount = 0;
+    static final Comparator<Task> PRIORITY_ORDER = Comparator
+            .comparing(Task::getStartTime)
+            .thenComparingInt(Task::getId);
+    protected final AtomicInteger tasksCount;
     protected final HistoryManager historyManager;
-    protected final Map<Integer, Task> tasks;
-    protected final Map<Integer, Epic> epics;
-    protected final Map<Integer, Subtask> subtasks;
-    protected final Set<Task> prioritizedTasks;
+    protected final NavigableMap<Integer, Task> tasks;
+    protected final NavigableMap<Integer, Epic> epics;
+    protected final NavigableMap<Integer, Subtask> subtasks;
+    protected final Map<Integer, EpicAggregate> epicAggregates;
+    protected final NavigableSet<Task> prioritizedTasks;
+    private long version;
+    private ReadView readView;
 
     public InMemoryTaskManager() {
-        this.historyManager = Managers.getDefaultHistory();
-        this.tasks = new HashMap<>();
-        this.epics = new HashMap<>();
-        this.subtasks = new HashMap<>();
-        this.prioritizedTasks = new TreeSet<>(Comparator.comparing(Task::getStartTime));
+        this(Managers.getDefaultHistory());
+    }
+
+    public InMemoryTaskManager(HistoryManager historyManager) {
+        this(
+                historyManager,
+                new TreeMap<>(),
+                new TreeMap<>(),
+                new TreeMap<>(),
+                new HashMap<>(),
+                new TreeSet<>(PRIORITY_ORDER)
+        );
+    }
+
+    protected InMemoryTaskManager(
+            HistoryManager historyManager,
+            NavigableMap<Integer, Task> tasks,
+            NavigableMap<Integer, Epic> epics,
+            NavigableMap<Integer, Subtask> subtasks,
+            Map<Integer, EpicAggregate> epicAggregates,
+            NavigableSet<Task> prioritizedTasks
+    ) {
+        this.tasksCount = new AtomicInteger();
+        this.historyManager = historyManager;
+        this.tasks = tasks;
+        this.epics = epics;
+        this.subtasks = subtasks;
+        this.epicAggregates = epicAggregates;
+        this.prioritizedTasks = prioritizedTasks;
+        this.historyManager.setTaskResolver(this::findAnyTask);
     }
 
     @Override
@@ -35,6 +68,15 @@ public class InMemoryTaskManager implements TaskManager {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Task> getPrioritizedTasks(Task afterTask, int limit) {
+        return (afterTask != null ? prioritizedTasks.tailSet(afterTask, false) : prioritizedTasks)
+                .stream()
+                .limit(limit)
+                .map(Task::new)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Task> getAllTasks() {
         return tasks.values()
@@ -43,6 +85,16 @@ public class InMemoryTaskManager implements TaskManager {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Task> getAllTasks(int afterId, int limit) {
+        return tasks.tailMap(afterId, false)
+                .values()
+                .stream()
+                .limit(limit)
+                .map(Task::new)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Epic> getAllEpics() {
         return epics.values()
@@ -51,6 +103,16 @@ public class InMemoryTaskManager implements TaskManager {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Epic> getAllEpics(int afterId, int limit) {
+        return epics.tailMap(afterId, false)
+                .values()
+                .stream()
+                .limit(limit)
+                .map(Epic::new)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Subtask> getAllSubtasks() {
         return subtasks.values()
@@ -59,56 +121,90 @@ public class InMemoryTaskManager implements TaskManager {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Subtask> getAllSubtasks(int afterId, int limit) {
+        return subtasks.tailMap(afterId, false)
+                .values()
+                .stream()
+                .limit(limit)
+                .map(Subtask::new)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void removeAllTasks() {
-        for (Map.Entry<Integer, Task> entry : tasks.entrySet()) {
-            historyManager.remove(entry.getKey());
-            prioritizedTasks.remove(entry.getValue());
-        }
+        beginWriteAll();
 
-        tasks.clear();
+        try {
+            for (Map.Entry<Integer, Task> entry : tasks.entrySet()) {
+                historyManager.remove(entry.getKey());
+                unschedule(entry.getValue());
+            }
+
+            tasks.clear();
+        } finally {
+            endWriteAll();
+        }
     }
 
     @Override
     public void removeAllEpics() {
-        for (Map.Entry<Integer, Epic> entry : epics.entrySet()) {
-            historyManager.remove(entry.getKey());
-            prioritizedTasks.remove(entry.getValue());
-        }
-        epics.clear();
+        beginWriteAll();
 
-        for (Map.Entry<Integer, Subtask> entry : subtasks.entrySet()) {
-            historyManager.remove(entry.getKey());
-            prioritizedTasks.remove(entry.getValue());
+        try {
+            for (Map.Entry<Integer, Epic> entry : epics.entrySet()) {
+                historyManager.remove(entry.getKey());
+            }
+            epics.clear();
+            epicAggregates.clear();
+
+            for (Map.Entry<Integer, Subtask> entry : subtasks.entrySet()) {
+                historyManager.remove(entry.getKey());
+                unschedule(entry.getValue());
+            }
+            subtasks.clear();
+        } finally {
+            endWriteAll();
         }
-        subtasks.clear();
     }
 
     @Override
     public void removeAllSubtasks() {
-        for (Map.Entry<Integer, Subtask> entry : subtasks.entrySet()) {
-            historyManager.remove(entry.getKey());
-            prioritizedTasks.remove(entry.getValue());
-        }
-        subtasks.clear();
+        beginWriteAll();
 
-        for (Epic epic : epics.values()) {
-            prioritizedTasks.remove(epic);
-            epic.getSubtasksIds().clear();
-            epic.setStatus(TaskStatus.NEW);
-            epic.setStartTime(null);
-            epic.setEndTime(null);
-            epic.setDuration(Duration.ZERO);
+        try {
+            for (Map.Entry<Integer, Subtask> entry : subtasks.entrySet()) {
+                historyManager.remove(entry.getKey());
+                unschedule(entry.getValue());
+            }
+            subtasks.clear();
+
+            for (Epic epic : epics.values()) {
+                Epic updatedEpic = new Epic(epic);
+                EpicAggregate epicAggregate = new EpicAggregate();
+                updatedEpic.getSubtasksIds().clear();
+                epicAggregate.applyTo(updatedEpic);
+                epicAggregates.put(updatedEpic.getId(), epicAggregate);
+                epics.put(updatedEpic.getId(), updatedEpic);
+            }
+        } finally {
+            endWriteAll();
         }
     }
 
     @Override
     public Task getTaskById(int id) throws NotFoundException {
-        Task task = tasks.get(id);
+        lockAnyTask(id);
 
-        if (task != null) {
-            historyManager.add(task);
-            return new Task(task);
+        try {
+            Task task = tasks.get(id);
+
+            if (task != null) {
+                historyManager.add(task);
+                return new Task(task);
+            }
+        } finally {
+            unlockAnyTask(id);
         }
 
         throw new NotFoundException("Задача не найдена");
@@ -116,23 +212,36 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Epic getEpicById(int id) throws NotFoundException {
-        Epic epic = epics.get(id);
+        lockAnyTask(id);
 
-        if (epic != null) {
-            historyManager.add(epic);
-            return new Epic(epic);
+        try {
+            Epic epic = epics.get(id);
+
+            if (epic != null) {
+                historyManager.add(epic);
+                return new Epic(epic);
+            }
+        } finally {
+            unlockAnyTask(id);
         }
 
         throw new NotFoundException("Эпик не найден");
     }
 
     @Override
-    public Subtask getSubtaskById(int id) {
-        Subtask subtask = subtasks.get(id);
+    public Subtask getSubtaskById(int id) throws NotFoundException {
+        int epicId = getEpicIdOfSubtask(id);
+        lockAnyTask(epicId);
+
+        try {
+            Subtask subtask = subtasks.get(id);
 
-        if (subtask != null) {
-            historyManager.add(subtask);
-            return new Subtask(subtask);
+            if (subtask != null) {
+                historyManager.add(subtask);
+                return new Subtask(subtask);
+            }
+        } finally {
+            unlockAnyTask(epicId);
         }
 
         throw new NotFoundException("Подзадача не найдена");
@@ -140,184 +249,237 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Task createTask(Task task) throws OverlapException {
-        task.setId(generateId());
-        Task newTask = new Task(task);
-
-        if (newTask.getStartTime() != null && newTask.getEndTime() != null) {
-            if (isAnyTaskInManagerOverlap(newTask)) {
-                throw new OverlapException("Задача пересекается по времени выполнения");
-            }
-            prioritizedTasks.add(newTask);
+        int id = generateId();
+        beginWrite(id);
+
+        try {
+            task.setId(id);
+            Task newTask = new Task(task);
+            schedule(newTask, "Задача пересекается по времени выполнения");
+            tasks.put(id, newTask);
+
+            return task;
+        } finally {
+            endWrite(id);
         }
-
-        tasks.put(task.getId(), newTask);
-
-        return task;
     }
 
     @Override
     public void createEpic(Epic epic) {
-        epic.setId(generateId());
-        epic.setStatus(TaskStatus.NEW);
-        epic.setStartTime(null);
-        epic.setEndTime(null);
-        epic.setDuration(Duration.ZERO);
-        epic.setSubtasksIds(new ArrayList<>());
-        epics.put(epic.getId(), new Epic(epic));
+        int id = generateId();
+        beginWrite(id);
+
+        try {
+            epic.setId(id);
+            epic.setStatus(TaskStatus.NEW);
+            epic.setStartTime(null);
+            epic.setEndTime(null);
+            epic.setDuration(Duration.ZERO);
+            epic.setSubtasksIds(new ArrayList<>());
+            epicAggregates.put(id, new EpicAggregate());
+            epics.put(id, new Epic(epic));
+        } finally {
+            endWrite(id);
+        }
     }
 
     @Override
     public Subtask createSubtask(Subtask subtask) throws NotFoundException, OverlapException {
-        Epic epic = epics.get(subtask.getEpicId());
-
-        if (epic == null) {
-            throw new NotFoundException("Эпик подзадачи не найден");
-        }
+        int epicId = subtask.getEpicId();
+        beginWrite(epicId);
 
-        subtask.setId(generateId());
-        Subtask newSubtask = new Subtask(subtask);
+        try {
+            Epic epic = epics.get(epicId);
 
-        if (newSubtask.getStartTime() != null && newSubtask.getEndTime() != null) {
-            if (isAnyTaskInManagerOverlap(subtask)) {
-                throw new OverlapException("Подзадача пересекается по времени выполнения");
+            if (epic == null) {
+                throw new NotFoundException("Эпик подзадачи не найден");
             }
-            prioritizedTasks.add(newSubtask);
-        }
 
-        subtasks.put(subtask.getId(), newSubtask);
-        epic.getSubtasksIds().add(subtask.getId());
-        calculateEpicStatus(epic);
-        calculateEpicDatesAndDuration(epic);
-
-        return subtask;
+            subtask.setId(generateId());
+            Subtask newSubtask = new Subtask(subtask);
+            schedule(newSubtask, "Подзадача пересекается по времени выполнения");
+            subtasks.put(newSubtask.getId(), newSubtask);
+
+            Epic updatedEpic = new Epic(epic);
+            EpicAggregate epicAggregate = epicAggregates.get(epicId);
+            updatedEpic.getSubtasksIds().add(newSubtask.getId());
+            epicAggregate.addSubtask(newSubtask);
+            epicAggregate.applyTo(updatedEpic);
+            epics.put(epicId, updatedEpic);
+
+            return subtask;
+        } finally {
+            endWrite(epicId);
+        }
     }
 
     @Override
     public Task updateTask(Task task) throws NotFoundException, OverlapException {
-        Task currentTask = tasks.get(task.getId());
+        int id = task.getId();
+        beginWrite(id);
 
-        if (currentTask == null) {
-            throw new NotFoundException("Задача не найдена");
-        }
+        try {
+            Task currentTask = tasks.get(id);
 
-        prioritizedTasks.remove(currentTask);
-
-        if (currentTask.getStartTime() != null && currentTask.getEndTime() != null) {
-            if (isAnyTaskInManagerOverlap(task)) {
-                throw new OverlapException("Задача пересекается по времени выполнения");
+            if (currentTask == null) {
+                throw new NotFoundException("Задача не найдена");
             }
-            prioritizedTasks.add(currentTask);
-        }
 
-        updateAnyTaskData(currentTask, task);
+            Task updatedTask = new Task(currentTask);
+            updateAnyTaskData(updatedTask, task);
+            reschedule(currentTask, updatedTask, "Задача пересекается по времени выполнения");
+            tasks.put(id, updatedTask);
 
-        return task;
+            return task;
+        } finally {
+            endWrite(id);
+        }
     }
 
     @Override
     public Epic updateEpic(Epic epic) throws NotFoundException {
-        Epic currentEpic = epics.get(epic.getId());
+        int id = epic.getId();
+        beginWrite(id);
 
-        if (currentEpic == null) {
-            throw new NotFoundException("Эпик не найден");
-        }
+        try {
+            Epic currentEpic = epics.get(id);
 
-        updateAnyTaskData(currentEpic, epic);
-        calculateEpicStatus(currentEpic);
-        calculateEpicDatesAndDuration(currentEpic);
+            if (currentEpic == null) {
+                throw new NotFoundException("Эпик не найден");
+            }
 
-        return epic;
+            Epic updatedEpic = new Epic(currentEpic);
+            updateAnyTaskData(updatedEpic, epic);
+            epicAggregates.get(id).applyTo(updatedEpic);
+            epics.put(id, updatedEpic);
+
+            return epic;
+        } finally {
+            endWrite(id);
+        }
     }
 
     @Override
     public Subtask updateSubtask(Subtask subtask) throws NotFoundException, OverlapException {
-        Subtask currentSubtask = subtasks.get(subtask.getId());
+        int epicId = getEpicIdOfSubtask(subtask.getId());
+        beginWrite(epicId);
 
-        if (currentSubtask == null) {
-            throw new NotFoundException("Подзадача не найдена");
-        }
+        try {
+            Subtask currentSubtask = subtasks.get(subtask.getId());
 
-        prioritizedTasks.remove(currentSubtask);
-
-        if (currentSubtask.getStartTime() != null && currentSubtask.getEndTime() != null) {
-            if (isAnyTaskInManagerOverlap(subtask)) {
-                throw new OverlapException("Подзадача пересекается по времени выполнения");
+            if (currentSubtask == null) {
+                throw new NotFoundException("Подзадача не найдена");
             }
-            prioritizedTasks.add(currentSubtask);
-        }
-
-        updateAnyTaskData(currentSubtask, subtask);
-        Epic epic = epics.get(subtask.getEpicId());
-        calculateEpicStatus(epic);
-        calculateEpicDatesAndDuration(epic);
 
-        return subtask;
+            Subtask updatedSubtask = new Subtask(currentSubtask);
+            updateAnyTaskData(updatedSubtask, subtask);
+            reschedule(currentSubtask, updatedSubtask, "Подзадача пересекается по времени выполнения");
+            subtasks.put(updatedSubtask.getId(), updatedSubtask);
+
+            Epic updatedEpic = new Epic(epics.get(epicId));
+            EpicAggregate epicAggregate = epicAggregates.get(epicId);
+            epicAggregate.removeSubtask(currentSubtask);
+            epicAggregate.addSubtask(updatedSubtask);
+            epicAggregate.applyTo(updatedEpic);
+            epics.put(epicId, updatedEpic);
+
+            return subtask;
+        } finally {
+            endWrite(epicId);
+        }
     }
 
     @Override
     public Task removeTaskById(int id) throws NotFoundException {
-        Task task = tasks.remove(id);
+        beginWrite(id);
 
-        if (task == null) {
-            throw new NotFoundException("Задача не найдена");
-        }
+        try {
+            Task task = tasks.remove(id);
+
+            if (task == null) {
+                throw new NotFoundException("Задача не найдена");
+            }
 
-        historyManager.remove(id);
-        prioritizedTasks.remove(task);
-        return task;
+            historyManager.remove(id);
+            unschedule(task);
+            return task;
+        } finally {
+            endWrite(id);
+        }
     }
 
     @Override
     public Epic removeEpicById(int id) throws NotFoundException {
-        Epic epic = epics.remove(id);
+        beginWrite(id);
 
-        if (epic == null) {
-            throw new NotFoundException("Эпик не найден");
-        }
+        try {
+            Epic epic = epics.remove(id);
 
-        historyManager.remove(id);
+            if (epic == null) {
+                throw new NotFoundException("Эпик не найден");
+            }
 
-        for (Integer subtaskId : epic.getSubtasksIds()) {
-            historyManager.remove(subtaskId);
-            prioritizedTasks.remove(subtasks.get(subtaskId));
-            subtasks.remove(subtaskId);
-        }
+            historyManager.remove(id);
+            epicAggregates.remove(id);
+
+            for (Integer subtaskId : epic.getSubtasksIds()) {
+                historyManager.remove(subtaskId);
+                unschedule(subtasks.remove(subtaskId));
+            }
 
-        return epic;
+            return epic;
+        } finally {
+            endWrite(id);
+        }
     }
 
     @Override
     public Subtask removeSubtaskById(int id) throws NotFoundException {
-        Subtask subtask = subtasks.remove(id);
+        int epicId = getEpicIdOfSubtask(id);
+        beginWrite(epicId);
 
-        if (subtask == null) {
-            throw new NotFoundException("Подзадача не найдена");
-        }
+        try {
+            Subtask subtask = subtasks.remove(id);
+
+            if (subtask == null) {
+                throw new NotFoundException("Подзадача не найдена");
+            }
 
-        historyManager.remove(id);
-        prioritizedTasks.remove(subtask);
+            historyManager.remove(id);
+            unschedule(subtask);
 
-        Epic epic = epics.get(subtask.getEpicId());
-        epic.getSubtasksIds().remove((Integer) subtask.getId());
-        calculateEpicStatus(epic);
-        calculateEpicDatesAndDuration(epic);
+            Epic updatedEpic = new Epic(epics.get(epicId));
+            EpicAggregate epicAggregate = epicAggregates.get(epicId);
+            updatedEpic.getSubtasksIds().remove((Integer) id);
+            epicAggregate.removeSubtask(subtask);
+            epicAggregate.applyTo(updatedEpic);
+            epics.put(epicId, updatedEpic);
 
-        return subtask;
+            return subtask;
+        } finally {
+            endWrite(epicId);
+        }
     }
 
     @Override
     public List<Subtask> getSubtasksByEpicId(int epicId) {
-        Epic epic = epics.get(epicId);
+        lockAnyTask(epicId);
 
-        if (epic == null) {
-            return new ArrayList<>();
-        }
+        try {
+            Epic epic = epics.get(epicId);
 
-        return epic.getSubtasksIds()
-                .stream()
-                .map(subtasks::get)
-                .map(Subtask::new)
-                .collect(Collectors.toList());
+            if (epic == null) {
+                return new ArrayList<>();
+            }
+
+            return epic.getSubtasksIds()
+                    .stream()
+                    .map(subtasks::get)
+                    .map(Subtask::new)
+                    .collect(Collectors.toList());
+        } finally {
+            unlockAnyTask(epicId);
+        }
     }
 
     @Override
@@ -325,7 +487,145 @@ public class InMemoryTaskManager implements TaskManager {
         return historyManager.getHistory();
     }
 
-    private void updateAnyTaskData(Task oldTask, Task newTask) {
+    @Override
+    public List<Task> getHistory(int offset, int limit) throws IllegalArgumentException {
+        return historyManager.getHistory(offset, limit);
+    }
+
+    @Override
+    public ReadView getReadView() {
+        if (readView == null || readView.getVersion() != version) {
+            readView = createReadView(version);
+        }
+
+        return readView;
+    }
+
+    protected ReadView createReadView(long viewVersion) {
+        return new ReadView(
+                viewVersion,
+                new ArrayList<>(tasks.values()),
+                new ArrayList<>(epics.values()),
+                new ArrayList<>(subtasks.values())
+        );
+    }
+
+    protected void lockAnyTask(int ownerId) {
+    }
+
+    protected void unlockAnyTask(int ownerId) {
+    }
+
+    protected void beginWrite(int ownerId) {
+    }
+
+    protected void endWrite(int ownerId) {
+        version++;
+    }
+
+    protected void beginWriteAll() {
+    }
+
+    protected void endWriteAll() {
+        version++;
+    }
+
+    protected void lockSchedule() {
+    }
+
+    protected void unlockSchedule() {
+    }
+
+    protected void restoreAnyTasks(Collection<? extends Task> anyTasks) {
+        version++;
+
+        int maxId = tasksCount.get();
+        List<Task> scheduledTasks = new ArrayList<>();
+
+        for (Task anyTask : anyTasks) {
+            maxId = Math.max(maxId, anyTask.getId());
+
+            switch (anyTask.getType()) {
+                case TASK:
+                    tasks.put(anyTask.getId(), anyTask);
+
+                    if (isScheduled(anyTask)) {
+                        scheduledTasks.add(anyTask);
+                    }
+                    break;
+
+                case EPIC:
+                    epics.put(anyTask.getId(), (Epic) anyTask);
+                    epicAggregates.put(anyTask.getId(), new EpicAggregate());
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        for (Task anyTask : anyTasks) {
+            if (anyTask.getType() != TaskType.SUBTASK) {
+                continue;
+            }
+
+            Subtask subtask = (Subtask) anyTask;
+            Epic epic = epics.get(subtask.getEpicId());
+
+            if (epic == null) {
+                throw new IllegalArgumentException("Эпик " + subtask.getEpicId() + " подзадачи " + subtask.getId()
+                        + " не найден");
+            }
+
+            subtasks.put(subtask.getId(), subtask);
+            epic.getSubtasksIds().add(subtask.getId());
+            epicAggregates.get(epic.getId()).addSubtask(subtask);
+
+            if (isScheduled(subtask)) {
+                scheduledTasks.add(subtask);
+            }
+        }
+
+        for (Epic epic : epics.values()) {
+            epicAggregates.get(epic.getId()).applyTo(epic);
+        }
+
+        Task[] sortedTasks = scheduledTasks.toArray(new Task[0]);
+        Arrays.parallelSort(sortedTasks, prioritizedTasks.comparator());
+        prioritizedTasks.addAll(new SortedArraySet<>(sortedTasks, prioritizedTasks.comparator()));
+
+        tasksCount.set(maxId);
+    }
+
+    private Task findAnyTask(int id) {
+        Task task = tasks.get(id);
+
+        if (task != null) {
+            return new Task(task);
+        }
+
+        Epic epic = epics.get(id);
+
+        if (epic != null) {
+            return new Epic(epic);
+        }
+
+        Subtask subtask = subtasks.get(id);
+
+        return subtask != null ? new Subtask(subtask) : null;
+    }
+
+    private int getEpicIdOfSubtask(int subtaskId) throws NotFoundException {
+        Subtask subtask = subtasks.get(subtaskId);
+
+        if (subtask == null) {
+            throw new NotFoundException("Подзадача не найдена");
+        }
+
+        return subtask.getEpicId();
+    }
+
+    static void updateAnyTaskData(Task oldTask, Task newTask) {
         oldTask.setTitle(newTask.getTitle());
         oldTask.setDescription(newTask.getDescription());
         oldTask.setStatus(newTask.getStatus());
@@ -333,72 +633,79 @@ public class InMemoryTaskManager implements TaskManager {
         oldTask.setDuration(newTask.getDuration());
     }
 
-    private void calculateEpicStatus(Epic epic) {
-        if (epic.getSubtasksIds().isEmpty()) {
-            epic.setStatus(TaskStatus.NEW);
+    private void schedule(Task task, String overlapMessage) throws OverlapException {
+        if (!isScheduled(task)) {
             return;
         }
 
-        boolean isAllSubtasksDone = true;
-        boolean isAllSubtasksNew = true;
-
-        for (Integer subtaskId : epic.getSubtasksIds()) {
-            TaskStatus subtaskStatus = subtasks.get(subtaskId).getStatus();
-            if (subtaskStatus == TaskStatus.IN_PROGRESS) {
-                epic.setStatus(TaskStatus.IN_PROGRESS);
-                return;
-            } else if (subtaskStatus != TaskStatus.DONE) {
-                isAllSubtasksDone = false;
-            } else {
-                isAllSubtasksNew = false;
+        lockSchedule();
+
+        try {
+            if (isAnyTaskInManagerOverlap(task)) {
+                throw new OverlapException(overlapMessage);
             }
-        }
 
-        if (isAllSubtasksDone) {
-            epic.setStatus(TaskStatus.DONE);
-            return;
+            prioritizedTasks.add(task);
+        } finally {
+            unlockSchedule();
         }
+    }
 
-        if (isAllSubtasksNew) {
-            epic.setStatus(TaskStatus.NEW);
+    private void reschedule(Task currentTask, Task newTask, String overlapMessage) throws OverlapException {
+        if (!isScheduled(currentTask) && !isScheduled(newTask)) {
             return;
         }
 
-        epic.setStatus(TaskStatus.IN_PROGRESS);
-    }
+        lockSchedule();
 
-    private void calculateEpicDatesAndDuration(Epic epic) {
-        List<Subtask> sortedSubtasks = epic.getSubtasksIds()
-                .stream()
-                .map(subtasks::get)
-                .filter(subtask -> subtask.getStartTime() != null && subtask.getEndTime() != null)
-                .sorted(Comparator.comparing(Subtask::getStartTime))
-                .toList();
+        try {
+            if (isScheduled(currentTask)) {
+                prioritizedTasks.remove(currentTask);
+            }
 
-        if (sortedSubtasks.isEmpty()) {
-            epic.setStartTime(null);
-            epic.setEndTime(null);
-            epic.setDuration(Duration.ZERO);
+            if (isScheduled(newTask)) {
+                if (isAnyTaskInManagerOverlap(newTask)) {
+                    if (isScheduled(currentTask)) {
+                        prioritizedTasks.add(currentTask);
+                    }
+
+                    throw new OverlapException(overlapMessage);
+                }
+
+                prioritizedTasks.add(newTask);
+            }
+        } finally {
+            unlockSchedule();
+        }
+    }
+
+    private void unschedule(Task task) {
+        if (task == null || !isScheduled(task)) {
             return;
         }
 
-        epic.setStartTime(sortedSubtasks.getFirst().getStartTime());
-        epic.setEndTime(sortedSubtasks.getLast().getEndTime());
-        epic.setDuration(Duration.ofMinutes(sortedSubtasks
-                .stream()
-                .map(Subtask::getDuration)
-                .mapToLong(Duration::toMinutes)
-                .sum())
-        );
+        lockSchedule();
+
+        try {
+            prioritizedTasks.remove(task);
+        } finally {
+            unlockSchedule();
+        }
+    }
+
+    static boolean isScheduled(Task task) {
+        return task.getStartTime() != null && task.getEndTime() != null;
     }
 
     private boolean isAnyTaskInManagerOverlap(Task checkTask) {
-        return getPrioritizedTasks()
-                .stream()
-                .anyMatch(task -> isTwoTasksOverlap(checkTask, task));
+        Task previousTask = prioritizedTasks.floor(checkTask);
+        Task nextTask = prioritizedTasks.ceiling(checkTask);
+
+        return (previousTask != null && isTwoTasksOverlap(checkTask, previousTask))
+                || (nextTask != null && isTwoTasksOverlap(checkTask, nextTask));
     }
 
-    private boolean isTwoTasksOverlap(Task firstTask, Task secondTask) {
+    static boolean isTwoTasksOverlap(Task firstTask, Task secondTask) {
         if (firstTask.getStartTime().isEqual(secondTask.getEndTime())
                 || firstTask.getEndTime().isEqual(secondTask.getStartTime())
         ) {
@@ -410,6 +717,6 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
     private int generateId() {
-        return ++tasksCount;
+        return tasksCount.incrementAndGet();
     }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package service;
+
+public enum LoadMode {
+    EAGER,
+    LAZY
+}
\ No newline at end of file
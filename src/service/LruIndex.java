@@ -0,0 +1,196 @@
+package service;
+
+import java.util.Arrays;
+
+class LruIndex {
+    static final int NO_SLOT = -1;
+    private static final int EMPTY = 0;
+    private final int capacity;
+    private final int[] ids;
+    private final int[] prev;
+    private final int[] next;
+    private final int[] table;
+    private final int mask;
+    private int head;
+    private int tail;
+    private int freeHead;
+    private int size;
+
+    LruIndex(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ёмкость истории должна быть положительной: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.table = new int[Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1];
+        this.mask = table.length - 1;
+        clear();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int head() {
+        return head;
+    }
+
+    int tail() {
+        return tail;
+    }
+
+    int next(int slot) {
+        return next[slot];
+    }
+
+    int prev(int slot) {
+        return prev[slot];
+    }
+
+    int idAt(int slot) {
+        return ids[slot];
+    }
+
+    int slotOf(int id) {
+        int position = position(id);
+
+        return table[position] == EMPTY ? NO_SLOT : table[position] - 1;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    int touch(int id) {
+        int position = position(id);
+
+        if (table[position] != EMPTY) {
+            int slot = table[position] - 1;
+            unlink(slot);
+            linkLast(slot);
+            return slot;
+        }
+
+        if (size == capacity) {
+            removeSlot(head);
+            position = position(id);
+        }
+
+        int slot = freeHead;
+        freeHead = next[slot];
+        ids[slot] = id;
+        table[position] = slot + 1;
+        linkLast(slot);
+        size++;
+
+        return slot;
+    }
+
+    int remove(int id) {
+        int slot = slotOf(id);
+
+        if (slot != NO_SLOT) {
+            removeSlot(slot);
+        }
+
+        return slot;
+    }
+
+    void clear() {
+        Arrays.fill(table, EMPTY);
+
+        for (int i = 0; i < capacity; i++) {
+            next[i] = i + 1 < capacity ? i + 1 : NO_SLOT;
+        }
+
+        head = NO_SLOT;
+        tail = NO_SLOT;
+        freeHead = 0;
+        size = 0;
+    }
+
+    private void removeSlot(int slot) {
+        deleteFromTable(position(ids[slot]));
+        unlink(slot);
+        next[slot] = freeHead;
+        freeHead = slot;
+        size--;
+    }
+
+    private void linkLast(int slot) {
+        prev[slot] = tail;
+        next[slot] = NO_SLOT;
+
+        if (tail == NO_SLOT) {
+            head = slot;
+        } else {
+            next[tail] = slot;
+        }
+
+        tail = slot;
+    }
+
+    private void unlink(int slot) {
+        int prevSlot = prev[slot];
+        int nextSlot = next[slot];
+
+        if (prevSlot == NO_SLOT) {
+            head = nextSlot;
+        } else {
+            next[prevSlot] = nextSlot;
+        }
+
+        if (nextSlot == NO_SLOT) {
+            tail = prevSlot;
+        } else {
+            prev[nextSlot] = prevSlot;
+        }
+    }
+
+    private int position(int id) {
+        int position = hash(id);
+
+        while (table[position] != EMPTY && ids[table[position] - 1] != id) {
+            position = (position + 1) & mask;
+        }
+
+        return position;
+    }
+
+    private void deleteFromTable(int position) {
+        table[position] = EMPTY;
+        int current = position;
+
+        while (true) {
+            current = (current + 1) & mask;
+
+            if (table[current] == EMPTY) {
+                return;
+            }
+
+            int home = hash(ids[table[current] - 1]);
+            boolean movable = current > position
+                    ? home <= position || home > current
+                    : home <= position && home > current;
+
+            if (movable) {
+                table[position] = table[current];
+                table[current] = EMPTY;
+                position = current;
+            }
+        }
+    }
+
+    private int hash(int id) {
+        int h = id * 0x9E3779B9;
+
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,10 @@
 package service;
 
+import exception.ManagerLoadException;
+
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 public class Managers {
     private static final String defaultFileStorage = "resources/tasks.csv";
@@ -9,7 +13,78 @@ public class Managers {
         return new FileBackedTaskManager(Paths.get(defaultFileStorage));
     }
 
+    public static FileBackedTaskManager getGroupCommitted(
+            Path fileStorage,
+            int maxBatchSize,
+            Duration maxBatchDelay,
+            SyncPolicy syncPolicy
+    ) {
+        return new FileBackedTaskManager(
+                getDefaultHistory(),
+                fileStorage,
+                StorageMode.GROUP_COMMIT,
+                FileBackedTaskManager.DEFAULT_JOURNAL_COMPACTION_THRESHOLD,
+                Integer.MAX_VALUE,
+                maxBatchSize,
+                maxBatchDelay,
+                syncPolicy,
+                FileBackedTaskManager.DEFAULT_SNAPSHOT_FORMAT
+        );
+    }
+
+    public static FileBackedTaskManager getAsync(Path fileStorage, int queueCapacity, SyncPolicy syncPolicy) {
+        return new FileBackedTaskManager(
+                getDefaultHistory(),
+                fileStorage,
+                StorageMode.ASYNC,
+                FileBackedTaskManager.DEFAULT_JOURNAL_COMPACTION_THRESHOLD,
+                queueCapacity,
+                FileBackedTaskManager.DEFAULT_MAX_BATCH_SIZE,
+                FileBackedTaskManager.DEFAULT_MAX_BATCH_DELAY,
+                syncPolicy,
+                FileBackedTaskManager.DEFAULT_SNAPSHOT_FORMAT
+        );
+    }
+
+    public static FileBackedTaskManager loadPartitioned(
+            Path fileStorage,
+            int maxPartitions,
+            int partitionCapacity
+    ) throws ManagerLoadException, IllegalArgumentException {
+        return FileBackedTaskManager.loadFromFile(
+                fileStorage,
+                getPartitionedHistory(maxPartitions, partitionCapacity),
+                FileBackedTaskManager.DEFAULT_STORAGE_MODE,
+                FileBackedTaskManager.DEFAULT_SNAPSHOT_FORMAT,
+                LoadMode.EAGER
+        );
+    }
+
+    public static TaskManager getSynchronized(TaskManager taskManager) {
+        if (taskManager instanceof ConcurrentTaskManager || taskManager instanceof SynchronizedTaskManager) {
+            return taskManager;
+        }
+
+        return new SynchronizedTaskManager(taskManager);
+    }
+
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
+
+    public static HistoryManager getBoundedHistory(int capacity) {
+        return new BoundedHistoryManager(capacity);
+    }
+
+    public static HistoryManager getPartitionedHistory(int maxPartitions, int partitionCapacity) {
+        return new PartitionedHistoryManager(maxPartitions, partitionCapacity);
+    }
+
+    public static HistoryManager getIdHistory(int capacity) {
+        return new IdHistoryManager(capacity);
+    }
+
+    public static HistoryManager getAsyncHistory(HistoryManager historyManager) {
+        return new AsyncHistoryManager(historyManager);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package service;
+
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class PartitionedHistoryManager implements ConcurrentHistoryManager {
+    private final int maxPartitions;
+    private final int partitionCapacity;
+    private final Map<String, Partition> partitions;
+    private final ConcurrentSkipListMap<Long, Partition> recentPartitions;
+    private final AtomicLong clock;
+    private final Lock evictionLock;
+
+    public PartitionedHistoryManager(int maxPartitions, int partitionCapacity) throws IllegalArgumentException {
+        if (maxPartitions <= 0) {
+            throw new IllegalArgumentException("Число разделов истории должно быть положительным: " + maxPartitions);
+        }
+
+        if (partitionCapacity <= 0) {
+            throw new IllegalArgumentException("Ёмкость истории должна быть положительной: " + partitionCapacity);
+        }
+
+        this.maxPartitions = maxPartitions;
+        this.partitionCapacity = partitionCapacity;
+        this.partitions = new ConcurrentHashMap<>();
+        this.recentPartitions = new ConcurrentSkipListMap<>();
+        this.clock = new AtomicLong();
+        this.evictionLock = new ReentrantLock();
+    }
+
+    public int getPartitionsCount() {
+        return partitions.size();
+    }
+
+    @Override
+    public void add(Task task) {
+        add(HistoryPartition.current(), task);
+    }
+
+    @Override
+    public void remove(int id) {
+        for (Partition partition : partitions.values()) {
+            synchronized (partition) {
+                partition.history.remove(id);
+            }
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return getHistory(HistoryPartition.current());
+    }
+
+    public void add(String key, Task task) {
+        while (true) {
+            Partition partition = partitions.computeIfAbsent(key, Partition::new);
+
+            synchronized (partition) {
+                if (partition.evicted) {
+                    continue;
+                }
+
+                partition.history.add(task);
+                touch(partition);
+            }
+
+            evictEldestPartitions();
+            return;
+        }
+    }
+
+    public List<Task> getHistory(String key) {
+        Partition partition = partitions.get(key);
+
+        if (partition == null) {
+            return new ArrayList<>();
+        }
+
+        synchronized (partition) {
+            if (partition.evicted) {
+                return new ArrayList<>();
+            }
+
+            touch(partition);
+            return partition.history.getHistory();
+        }
+    }
+
+    private void touch(Partition partition) {
+        if (partition.stamp != 0) {
+            recentPartitions.remove(partition.stamp, partition);
+        }
+
+        partition.stamp = clock.incrementAndGet();
+        recentPartitions.put(partition.stamp, partition);
+    }
+
+    private void evictEldestPartitions() {
+        if (partitions.size() <= maxPartitions) {
+            return;
+        }
+
+        evictionLock.lock();
+
+        try {
+            while (partitions.size() > maxPartitions) {
+                Map.Entry<Long, Partition> eldest = recentPartitions.pollFirstEntry();
+
+                if (eldest == null) {
+                    return;
+                }
+
+                Partition partition = eldest.getValue();
+
+                synchronized (partition) {
+                    if (partition.stamp == eldest.getKey() && !partition.evicted) {
+                        partition.evicted = true;
+                        partitions.remove(partition.key, partition);
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private class Partition {
+        private final String key;
+        private final BoundedHistoryManager history;
+        private long stamp;
+        private boolean evicted;
+
+        private Partition(String key) {
+            this.key = key;
+            this.history = new BoundedHistoryManager(partitionCapacity);
+        }
+    }
+}
\ No newline at end of file
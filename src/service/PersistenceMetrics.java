@@ -0,0 +1,36 @@
+package service;
+
+import java.time.Duration;
+
+public class PersistenceMetrics {
+    private final int queueDepth;
+    private final long pendingWrites;
+    private final Duration lag;
+
+    public PersistenceMetrics(int queueDepth, long pendingWrites, Duration lag) {
+        this.queueDepth = queueDepth;
+        this.pendingWrites = pendingWrites;
+        this.lag = lag;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getPendingWrites() {
+        return pendingWrites;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistenceMetrics{" +
+                "queueDepth=" + queueDepth +
+                ", pendingWrites=" + pendingWrites +
+                ", lag=" + lag +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ReadView {
+    private final long version;
+    private final List<Task> tasks;
+    private final List<Epic> epics;
+    private final List<Subtask> subtasks;
+
+    public ReadView(long version, List<Task> tasks, List<Epic> epics, List<Subtask> subtasks) {
+        this.version = version;
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.epics = Collections.unmodifiableList(epics);
+        this.subtasks = Collections.unmodifiableList(subtasks);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public List<Epic> getEpics() {
+        return epics;
+    }
+
+    public List<Subtask> getSubtasks() {
+        return subtasks;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,342 @@
+package service;
+
+import model.Task;
+import util.TaskConverter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class SegmentedStore implements AutoCloseable {
+    static final int COMPACTION_SEGMENTS_COUNT = 4;
+    private static final String MANIFEST = "MANIFEST";
+    private static final String MANIFEST_HEADER = "segments,1";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private final Path directory;
+    private final Path manifestFile;
+    private final int maxSegmentRecords;
+    private final ExecutorService compactor;
+    private final List<String> segments;
+    private FileChannel activeChannel;
+    private int activeRecordsCount;
+    private long nextSegmentId;
+    private boolean compactionScheduled;
+
+    SegmentedStore(Path fileStorage, int maxSegmentRecords) {
+        this.directory = fileStorage.resolveSibling(fileStorage.getFileName() + ".segments");
+        this.manifestFile = directory.resolve(MANIFEST);
+        this.maxSegmentRecords = maxSegmentRecords;
+        this.segments = new ArrayList<>();
+        this.nextSegmentId = 1;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "segment-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    synchronized boolean exists() {
+        return Files.exists(manifestFile);
+    }
+
+    synchronized List<String> getSegments() {
+        return new ArrayList<>(segments);
+    }
+
+    synchronized List<String> readRecords() throws IOException, IllegalArgumentException {
+        List<String> records = new ArrayList<>();
+        segments.clear();
+
+        if (Files.notExists(manifestFile)) {
+            return records;
+        }
+
+        List<String> manifest = Files.readAllLines(manifestFile, UTF_8);
+
+        if (manifest.isEmpty() || !manifest.getFirst().equals(MANIFEST_HEADER)) {
+            throw new IllegalArgumentException("Неверный формат манифеста сегментов");
+        }
+
+        segments.addAll(manifest.subList(1, manifest.size()));
+
+        for (String segment : segments) {
+            nextSegmentId = Math.max(nextSegmentId, segmentId(segment) + 1);
+        }
+
+        deleteUnlistedSegments();
+
+        for (int i = 0; i < segments.size() - 1; i++) {
+            byte[] content = Files.readAllBytes(directory.resolve(segments.get(i)));
+            records.addAll(TaskConverter.splitCsvRecords(content, 0, content.length));
+        }
+
+        if (!segments.isEmpty()) {
+            List<String> activeRecords = recoverActiveSegment();
+            activeRecordsCount = activeRecords.size();
+            records.addAll(activeRecords);
+        }
+
+        return records;
+    }
+
+    synchronized void truncate(int recordsCount) throws IOException {
+        if (activeChannel != null) {
+            activeChannel.close();
+            activeChannel = null;
+        }
+
+        int remainingRecords = recordsCount;
+
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = directory.resolve(segments.get(i));
+            byte[] content = Files.readAllBytes(segment);
+            int validLength = 0;
+            int segmentRecordsCount = 0;
+
+            while (validLength < content.length && segmentRecordsCount < remainingRecords) {
+                validLength = TaskConverter.nextRecordStart(content, validLength, content.length);
+                segmentRecordsCount++;
+            }
+
+            if (validLength < content.length) {
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                    channel.force(true);
+                }
+
+                writeManifest(new ArrayList<>(segments.subList(0, i + 1)));
+                deleteUnlistedSegments();
+                activeRecordsCount = segmentRecordsCount;
+                return;
+            }
+
+            remainingRecords -= segmentRecordsCount;
+        }
+    }
+
+    synchronized void scheduleCompaction() {
+        if (!compactionScheduled && !compactor.isShutdown() && segments.size() - 1 >= COMPACTION_SEGMENTS_COUNT) {
+            compactionScheduled = true;
+            compactor.execute(this::compactSealedSegments);
+        }
+    }
+
+    synchronized void append(List<String> records) throws IOException {
+        if (segments.isEmpty()) {
+            Files.createDirectories(directory);
+            startSegment();
+        }
+
+        if (activeChannel == null) {
+            activeChannel = FileChannel.open(
+                    directory.resolve(segments.getLast()),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+            );
+        }
+
+        write(activeChannel, records);
+        activeRecordsCount += records.size();
+
+        if (activeRecordsCount >= maxSegmentRecords) {
+            sealActiveSegment();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+
+        try {
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (activeChannel != null) {
+                activeChannel.close();
+                activeChannel = null;
+            }
+        }
+    }
+
+    private List<String> recoverActiveSegment() throws IOException {
+        Path activeSegment = directory.resolve(segments.getLast());
+
+        if (Files.notExists(activeSegment)) {
+            Files.createFile(activeSegment);
+            return new ArrayList<>();
+        }
+
+        byte[] content = Files.readAllBytes(activeSegment);
+        int validLength = 0;
+
+        while (validLength < content.length) {
+            int nextRecordStart = TaskConverter.nextRecordStart(content, validLength, content.length);
+
+            if (content[nextRecordStart - 1] != '\n') {
+                break;
+            }
+            validLength = nextRecordStart;
+        }
+
+        if (validLength < content.length) {
+            try (FileChannel channel = FileChannel.open(activeSegment, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        }
+
+        return TaskConverter.splitCsvRecords(content, 0, validLength);
+    }
+
+    private void sealActiveSegment() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+        activeChannel = null;
+        startSegment();
+        scheduleCompaction();
+    }
+
+    private void startSegment() throws IOException {
+        String segment = segmentName(nextSegmentId++);
+        Files.createFile(directory.resolve(segment));
+
+        List<String> newSegments = new ArrayList<>(segments);
+        newSegments.add(segment);
+        writeManifest(newSegments);
+        activeRecordsCount = 0;
+    }
+
+    private void compactSealedSegments() {
+        try {
+            List<String> sealedSegments;
+            String mergedSegment;
+
+            synchronized (this) {
+                sealedSegments = new ArrayList<>(segments.subList(0, segments.size() - 1));
+                mergedSegment = segmentName(nextSegmentId++);
+            }
+
+            Map<Integer, Task> anyTasks = new LinkedHashMap<>();
+
+            for (String segment : sealedSegments) {
+                byte[] content = Files.readAllBytes(directory.resolve(segment));
+
+                for (String record : TaskConverter.splitCsvRecords(content, 0, content.length)) {
+                    TaskJournal.apply(record, anyTasks);
+                }
+            }
+
+            List<String> records = new ArrayList<>(anyTasks.size());
+
+            for (Task anyTask : anyTasks.values()) {
+                records.add(TaskJournal.putRecord(anyTask));
+            }
+
+            try (FileChannel channel = FileChannel.open(
+                    directory.resolve(mergedSegment),
+                    StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE
+            )) {
+                write(channel, records);
+                channel.force(false);
+            }
+
+            synchronized (this) {
+                List<String> newSegments = new ArrayList<>();
+                newSegments.add(mergedSegment);
+                newSegments.addAll(segments.subList(sealedSegments.size(), segments.size()));
+                writeManifest(newSegments);
+            }
+
+            for (String segment : sealedSegments) {
+                Files.deleteIfExists(directory.resolve(segment));
+            }
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+            System.out.printf("[ERROR] Не удалось уплотнить сегменты.\nТекст ошибки: %s.\n", exception.getMessage());
+        } finally {
+            synchronized (this) {
+                compactionScheduled = false;
+            }
+        }
+    }
+
+    private void writeManifest(List<String> newSegments) throws IOException {
+        Path temporaryManifest = directory.resolve(MANIFEST + ".tmp");
+        List<String> lines = new ArrayList<>(newSegments.size() + 1);
+        lines.add(MANIFEST_HEADER);
+        lines.addAll(newSegments);
+
+        try (FileChannel channel = FileChannel.open(
+                temporaryManifest,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            write(channel, lines);
+            channel.force(true);
+        }
+
+        Files.move(
+                temporaryManifest,
+                manifestFile,
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING
+        );
+        segments.clear();
+        segments.addAll(newSegments);
+    }
+
+    private void deleteUnlistedSegments() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                if (!segments.contains(file.getFileName().toString())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static void write(FileChannel channel, List<String> lines) throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        for (String line : lines) {
+            sb.append(line).append('\n');
+        }
+
+        ByteBuffer buffer = UTF_8.encode(sb.toString());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String segmentName(long segmentId) {
+        return String.format("%s%012d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(String segment) throws IllegalArgumentException {
+        if (!segment.startsWith(SEGMENT_PREFIX) || !segment.endsWith(SEGMENT_SUFFIX)) {
+            throw new IllegalArgumentException("Неверное имя сегмента: " + segment);
+        }
+
+        return Long.parseLong(segment.substring(SEGMENT_PREFIX.length(), segment.length() - SEGMENT_SUFFIX.length()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package service;
+
+public enum SnapshotFormat {
+    CSV,
+    BINARY,
+    COMPRESSED
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class SnapshotGenerations {
+    private final Path fileStorage;
+    private final Path temporaryFile;
+    private final Path previousFile;
+    private final Path checksumsFile;
+    private final Path corruptedFile;
+    private String currentGeneration;
+    private boolean currentIntact;
+
+    SnapshotGenerations(Path fileStorage) {
+        this.fileStorage = fileStorage;
+        this.temporaryFile = sibling(fileStorage, ".tmp");
+        this.previousFile = sibling(fileStorage, ".prev");
+        this.checksumsFile = sibling(fileStorage, ".checksum");
+        this.corruptedFile = sibling(fileStorage, ".corrupt");
+        this.currentIntact = true;
+    }
+
+    synchronized Path resolveReadable() throws IOException, IllegalArgumentException {
+        List<String> checksums = Files.exists(checksumsFile)
+                ? Files.readAllLines(checksumsFile, UTF_8)
+                : new ArrayList<>();
+
+        if (Files.exists(fileStorage)) {
+            String generation = generationOf(fileStorage);
+
+            if (checksums.isEmpty() || checksums.contains(generation)) {
+                currentGeneration = generation;
+                currentIntact = true;
+                return fileStorage;
+            }
+        }
+
+        if (Files.exists(previousFile)) {
+            String generation = generationOf(previousFile);
+
+            if (checksums.contains(generation)) {
+                System.out.printf(
+                        "[ERROR] Файл %s повреждён, загружено предыдущее сохранение %s.\n",
+                        fileStorage,
+                        previousFile
+                );
+                currentGeneration = generation;
+                currentIntact = false;
+                return previousFile;
+            }
+        }
+
+        if (Files.exists(fileStorage)) {
+            throw new IllegalArgumentException("Контрольная сумма не совпадает для файла " + fileStorage);
+        }
+
+        return fileStorage;
+    }
+
+    synchronized void write(SnapshotWriter snapshotWriter) throws IOException {
+        CRC32C checksum = new CRC32C();
+        String generation;
+
+        try {
+            try (OutputStream outputStream = new CheckedOutputStream(Files.newOutputStream(temporaryFile), checksum)) {
+                snapshotWriter.write(outputStream);
+            }
+
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+
+            generation = generation(Files.size(temporaryFile), checksum.getValue());
+            List<String> checksums = new ArrayList<>(2);
+            checksums.add(generation);
+
+            if (currentGeneration != null) {
+                checksums.add(currentGeneration);
+            }
+
+            writeChecksums(checksums);
+
+            if (currentIntact && Files.exists(fileStorage)) {
+                Files.move(
+                        fileStorage,
+                        previousFile,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING
+                );
+            }
+
+            Files.move(temporaryFile, fileStorage, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(temporaryFile);
+            throw exception;
+        }
+
+        syncDirectory();
+        currentGeneration = generation;
+        currentIntact = true;
+    }
+
+    synchronized Path setAsideCorrupted() throws IOException {
+        if (Files.notExists(fileStorage)) {
+            return null;
+        }
+
+        Files.move(fileStorage, corruptedFile, StandardCopyOption.REPLACE_EXISTING);
+        currentGeneration = null;
+        currentIntact = true;
+
+        return corruptedFile;
+    }
+
+    synchronized boolean hasIntactPrevious() throws IOException {
+        if (Files.notExists(previousFile) || Files.notExists(checksumsFile)) {
+            return false;
+        }
+
+        return Files.readAllLines(checksumsFile, UTF_8).contains(generationOf(previousFile));
+    }
+
+    private void writeChecksums(List<String> checksums) throws IOException {
+        Path temporaryChecksumsFile = sibling(checksumsFile, ".tmp");
+
+        try (FileChannel channel = FileChannel.open(
+                temporaryChecksumsFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            ByteBuffer buffer = UTF_8.encode(String.join("\n", checksums) + "\n");
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        Files.move(
+                temporaryChecksumsFile,
+                checksumsFile,
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING
+        );
+    }
+
+    private void syncDirectory() {
+        Path directory = fileStorage.toAbsolutePath().getParent();
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException exception) {
+            return;
+        }
+    }
+
+    private static String generationOf(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CRC32C checksum = new CRC32C();
+            checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+
+            return generation(channel.size(), checksum.getValue());
+        }
+    }
+
+    private static String generation(long size, long checksum) {
+        return size + "," + Long.toHexString(checksum);
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    @FunctionalInterface
+    interface SnapshotWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
\ No newline at end of file
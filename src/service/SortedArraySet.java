@@ -0,0 +1,57 @@
+package service;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SortedSet;
+
+class SortedArraySet<E> extends AbstractSet<E> implements SortedSet<E> {
+    private final E[] elements;
+    private final Comparator<? super E> comparator;
+
+    SortedArraySet(E[] sortedElements, Comparator<? super E> comparator) {
+        this.elements = sortedElements;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Arrays.asList(elements).iterator();
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public E first() {
+        return elements[0];
+    }
+
+    @Override
+    public E last() {
+        return elements[elements.length - 1];
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        throw new UnsupportedOperationException();
+    }
+}
\ No newline at end of file
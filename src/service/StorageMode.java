@@ -0,0 +1,9 @@
+package service;
+
+public enum StorageMode {
+    SNAPSHOT,
+    JOURNAL,
+    GROUP_COMMIT,
+    ASYNC,
+    SEGMENTED
+}
\ No newline at end of file
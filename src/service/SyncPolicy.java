@@ -0,0 +1,7 @@
+package service;
+
+public enum SyncPolicy {
+    NEVER,
+    PER_BATCH,
+    PER_OPERATION
+}
\ No newline at end of file
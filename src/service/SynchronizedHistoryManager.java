@@ -0,0 +1,39 @@
+package service;
+
+import model.Task;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+class SynchronizedHistoryManager implements ConcurrentHistoryManager {
+    private final HistoryManager historyManager;
+
+    SynchronizedHistoryManager(HistoryManager historyManager) {
+        this.historyManager = historyManager;
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        historyManager.add(task);
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        historyManager.remove(id);
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public synchronized List<Task> getHistory(int offset, int limit) throws IllegalArgumentException {
+        return historyManager.getHistory(offset, limit);
+    }
+
+    @Override
+    public synchronized void setTaskResolver(IntFunction<Task> taskResolver) {
+        historyManager.setTaskResolver(taskResolver);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package service;
+
+import exception.NotFoundException;
+import exception.OverlapException;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.util.List;
+
+class SynchronizedTaskManager implements TaskManager {
+    private final TaskManager taskManager;
+
+    SynchronizedTaskManager(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks() {
+        return taskManager.getPrioritizedTasks();
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks(Task afterTask, int limit) {
+        return taskManager.getPrioritizedTasks(afterTask, limit);
+    }
+
+    @Override
+    public synchronized List<Task> getAllTasks() {
+        return taskManager.getAllTasks();
+    }
+
+    @Override
+    public synchronized List<Task> getAllTasks(int afterId, int limit) {
+        return taskManager.getAllTasks(afterId, limit);
+    }
+
+    @Override
+    public synchronized List<Epic> getAllEpics() {
+        return taskManager.getAllEpics();
+    }
+
+    @Override
+    public synchronized List<Epic> getAllEpics(int afterId, int limit) {
+        return taskManager.getAllEpics(afterId, limit);
+    }
+
+    @Override
+    public synchronized List<Subtask> getAllSubtasks() {
+        return taskManager.getAllSubtasks();
+    }
+
+    @Override
+    public synchronized List<Subtask> getAllSubtasks(int afterId, int limit) {
+        return taskManager.getAllSubtasks(afterId, limit);
+    }
+
+    @Override
+    public synchronized void removeAllTasks() {
+        taskManager.removeAllTasks();
+    }
+
+    @Override
+    public synchronized void removeAllEpics() {
+        taskManager.removeAllEpics();
+    }
+
+    @Override
+    public synchronized void removeAllSubtasks() {
+        taskManager.removeAllSubtasks();
+    }
+
+    @Override
+    public synchronized Task getTaskById(int id) throws NotFoundException {
+        return taskManager.getTaskById(id);
+    }
+
+    @Override
+    public synchronized Epic getEpicById(int id) throws NotFoundException {
+        return taskManager.getEpicById(id);
+    }
+
+    @Override
+    public synchronized Subtask getSubtaskById(int id) throws NotFoundException {
+        return taskManager.getSubtaskById(id);
+    }
+
+    @Override
+    public synchronized Task createTask(Task task) throws OverlapException {
+        return taskManager.createTask(task);
+    }
+
+    @Override
+    public synchronized void createEpic(Epic epic) {
+        taskManager.createEpic(epic);
+    }
+
+    @Override
+    public synchronized Subtask createSubtask(Subtask subtask) throws NotFoundException, OverlapException {
+        return taskManager.createSubtask(subtask);
+    }
+
+    @Override
+    public synchronized Task updateTask(Task task) throws NotFoundException, OverlapException {
+        return taskManager.updateTask(task);
+    }
+
+    @Override
+    public synchronized Epic updateEpic(Epic epic) throws NotFoundException {
+        return taskManager.updateEpic(epic);
+    }
+
+    @Override
+    public synchronized Subtask updateSubtask(Subtask subtask) throws NotFoundException, OverlapException {
+        return taskManager.updateSubtask(subtask);
+    }
+
+    @Override
+    public synchronized Task removeTaskById(int id) throws NotFoundException {
+        return taskManager.removeTaskById(id);
+    }
+
+    @Override
+    public synchronized Epic removeEpicById(int id) throws NotFoundException {
+        return taskManager.removeEpicById(id);
+    }
+
+    @Override
+    public synchronized Subtask removeSubtaskById(int id) throws NotFoundException {
+        return taskManager.removeSubtaskById(id);
+    }
+
+    @Override
+    public synchronized List<Subtask> getSubtasksByEpicId(int epicId) {
+        return taskManager.getSubtasksByEpicId(epicId);
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        return taskManager.getHistory();
+    }
+
+    @Override
+    public synchronized List<Task> getHistory(int offset, int limit) throws IllegalArgumentException {
+        return taskManager.getHistory(offset, limit);
+    }
+
+    @Override
+    public synchronized ReadView getReadView() {
+        return taskManager.getReadView();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package service;
+
+import model.Subtask;
+import model.Task;
+import model.TaskType;
+import util.TaskConverter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class TaskJournal implements AutoCloseable {
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DELETE";
+    private static final String CLEAR = "CLEAR";
+    private final Path journalFile;
+    private FileChannel journalChannel;
+
+    TaskJournal(Path fileStorage) {
+        this.journalFile = fileStorage.resolveSibling(fileStorage.getFileName() + ".journal");
+    }
+
+    static String putRecord(Task task) {
+        return PUT + "," + TaskConverter.anyTaskToCompactCsvString(task);
+    }
+
+    static String deleteRecord(int id) {
+        return DELETE + "," + id;
+    }
+
+    static String clearRecord(TaskType taskType) {
+        return CLEAR + "," + taskType;
+    }
+
+    static List<String> coalesce(List<String> records) {
+        List<String> coalescedRecords = new ArrayList<>(records.size());
+        Map<String, String> lastRecordsById = new LinkedHashMap<>();
+
+        for (String record : records) {
+            if (record.startsWith(CLEAR + ",")) {
+                coalescedRecords.addAll(lastRecordsById.values());
+                lastRecordsById.clear();
+                coalescedRecords.add(record);
+                continue;
+            }
+
+            int idStart = record.indexOf(',') + 1;
+            int idEnd = record.indexOf(',', idStart);
+            String id = idEnd < 0 ? record.substring(idStart) : record.substring(idStart, idEnd);
+
+            lastRecordsById.put(id, record);
+        }
+
+        coalescedRecords.addAll(lastRecordsById.values());
+
+        return coalescedRecords;
+    }
+
+    static void apply(String record, Map<Integer, Task> anyTasks)
+            throws IndexOutOfBoundsException, IllegalArgumentException {
+        int separatorIndex = record.indexOf(',');
+        String operation = record.substring(0, separatorIndex);
+        String value = record.substring(separatorIndex + 1);
+
+        switch (operation) {
+            case PUT:
+                Task task = TaskConverter.anyTaskFromCsvString(value);
+
+                if (task.getType() == TaskType.SUBTASK) {
+                    checkEpicExists((Subtask) task, anyTasks);
+                }
+
+                anyTasks.put(task.getId(), task);
+                break;
+
+            case DELETE:
+                int id = Integer.parseInt(value);
+                Task removedTask = anyTasks.remove(id);
+
+                if (removedTask != null && removedTask.getType() == TaskType.EPIC) {
+                    anyTasks.values().removeIf(anyTask -> anyTask.getType() == TaskType.SUBTASK
+                            && ((Subtask) anyTask).getEpicId() == id
+                    );
+                }
+                break;
+
+            case CLEAR:
+                TaskType taskType = TaskType.valueOf(value);
+                anyTasks.values().removeIf(anyTask -> anyTask.getType() == taskType
+                        || (taskType == TaskType.EPIC && anyTask.getType() == TaskType.SUBTASK)
+                );
+                break;
+
+            default:
+                throw new IllegalArgumentException("Неизвестная операция журнала: " + operation);
+        }
+    }
+
+    private static void checkEpicExists(Subtask subtask, Map<Integer, Task> anyTasks)
+            throws IllegalArgumentException {
+        Task epic = anyTasks.get(subtask.getEpicId());
+
+        if (epic == null || epic.getType() != TaskType.EPIC) {
+            throw new IllegalArgumentException("Эпик " + subtask.getEpicId() + " подзадачи " + subtask.getId()
+                    + " не найден");
+        }
+    }
+
+    synchronized List<String> readRecords() throws IOException {
+        if (Files.notExists(journalFile)) {
+            return new ArrayList<>();
+        }
+
+        byte[] content = Files.readAllBytes(journalFile);
+        int validLength = 0;
+
+        while (validLength < content.length) {
+            int nextRecordStart = TaskConverter.nextRecordStart(content, validLength, content.length);
+
+            if (content[nextRecordStart - 1] != '\n') {
+                break;
+            }
+            validLength = nextRecordStart;
+        }
+
+        if (validLength < content.length) {
+            close();
+
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        }
+
+        return TaskConverter.splitCsvRecords(content, 0, validLength);
+    }
+
+    synchronized void truncate(int recordsCount) throws IOException {
+        close();
+
+        byte[] content = Files.readAllBytes(journalFile);
+        int validLength = 0;
+
+        for (int i = 0; i < recordsCount; i++) {
+            validLength = TaskConverter.nextRecordStart(content, validLength, content.length);
+        }
+
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(validLength);
+            channel.force(true);
+        }
+    }
+
+    synchronized void append(List<String> records) throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        for (String record : records) {
+            sb.append(record).append('\n');
+        }
+
+        if (journalChannel == null) {
+            journalChannel = FileChannel.open(
+                    journalFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+            );
+        }
+
+        ByteBuffer buffer = UTF_8.encode(sb.toString());
+        while (buffer.hasRemaining()) {
+            journalChannel.write(buffer);
+        }
+    }
+
+    synchronized void sync() throws IOException {
+        if (journalChannel != null) {
+            journalChannel.force(false);
+        }
+    }
+
+    synchronized void clear() throws IOException {
+        close();
+        Files.deleteIfExists(journalFile);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (journalChannel != null) {
+            journalChannel.close();
+            journalChannel = null;
+        }
+    }
+}
\ No newline at end of file
@@ -12,12 +12,20 @@ public interface TaskManager {
 
     List<Task> getPrioritizedTasks();
 
+    List<Task> getPrioritizedTasks(Task afterTask, int limit);
+
     List<Task> getAllTasks();
 
+    List<Task> getAllTasks(int afterId, int limit);
+
     List<Epic> getAllEpics();
 
+    List<Epic> getAllEpics(int afterId, int limit);
+
     List<Subtask> getAllSubtasks();
 
+    List<Subtask> getAllSubtasks(int afterId, int limit);
+
     void removeAllTasks();
 
     void removeAllEpics();
@@ -51,4 +59,8 @@ public interface TaskManager {
     List<Subtask> getSubtasksByEpicId(int epicId);
 
     List<Task> getHistory();
+
+    List<Task> getHistory(int offset, int limit) throws IllegalArgumentException;
+
+    ReadView getReadView();
 }
\ No newline at end of file
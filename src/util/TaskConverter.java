@@ -2,144 +2,416 @@ package util;
 
 import model.*;
 
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class TaskConverter {
     private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+    private static final String NULL_VALUE = "null";
+    private static final int DATE_TIME_LENGTH = 19;
+    private static final int TASK_FIELDS_COUNT = 9;
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
 
     private TaskConverter() {
 
     }
 
     public static String anyTaskToCsvString(Task task) {
-        return switch (task.getType()) {
-            case EPIC -> epicToCsvString((Epic) task);
-            case SUBTASK -> subtaskToCsvString((Subtask) task);
-            default -> taskToCsvString(task);
-        };
+        StringBuilder sb = new StringBuilder(128);
+        appendCsv(sb, task);
+
+        return sb.toString();
+    }
+
+    public static String anyTaskToCompactCsvString(Task task) {
+        StringBuilder sb = new StringBuilder(128);
+        appendCompactCsv(sb, task);
+
+        return sb.toString();
+    }
+
+    public static void appendCsv(StringBuilder sb, Task task) {
+        appendCsv(sb, task, true);
+    }
+
+    public static void appendCompactCsv(StringBuilder sb, Task task) {
+        appendCsv(sb, task, task.getType() == TaskType.EPIC);
+    }
+
+    private static void appendCsv(StringBuilder sb, Task task, boolean withEndTime) {
+        sb.append(task.getId()).append(SEPARATOR).append(task.getType()).append(SEPARATOR);
+        appendString(sb, task.getTitle());
+        sb.append(SEPARATOR).append(task.getStatus()).append(SEPARATOR);
+        appendString(sb, task.getDescription());
+        sb.append(SEPARATOR);
+        appendDateTime(sb, task.getStartTime());
+        sb.append(SEPARATOR);
+
+        if (task.getDuration() != null) {
+            sb.append(task.getDuration().toMinutes());
+        } else {
+            sb.append(NULL_VALUE);
+        }
+
+        sb.append(SEPARATOR);
+
+        if (withEndTime) {
+            appendDateTime(sb, task.getEndTime());
+        }
+
+        if (task.getType() == TaskType.SUBTASK) {
+            sb.append(SEPARATOR).append(((Subtask) task).getEpicId());
+        }
     }
 
     public static Task anyTaskFromCsvString(String value) throws IndexOutOfBoundsException, IllegalArgumentException {
-        String[] taskFields = value.split(",");
-        TaskType taskType = TaskType.valueOf(taskFields[1]);
+        int[] bounds = new int[TASK_FIELDS_COUNT * 2];
+        int fieldsCount = scanFields(value, bounds);
+        TaskType taskType = TaskType.valueOf(field(value, bounds, fieldsCount, 1));
+
+        checkIndex(switch (taskType) {
+            case TaskType.EPIC -> 7;
+            case TaskType.SUBTASK -> 8;
+            default -> 6;
+        }, fieldsCount);
 
-        return switch (taskType) {
-            case TaskType.EPIC -> epicFromCsvString(value);
-            case TaskType.SUBTASK -> subtaskFromCsvString(value);
-            default -> taskFromCsvString(value);
+        Task task = switch (taskType) {
+            case TaskType.EPIC -> {
+                Epic epic = new Epic(
+                        stringField(value, bounds, fieldsCount, 2),
+                        stringField(value, bounds, fieldsCount, 4)
+                );
+                epic.setStatus(statusField(value, bounds, fieldsCount, 3));
+                epic.setStartTime(dateTimeField(value, bounds, fieldsCount, 5));
+                epic.setEndTime(dateTimeField(value, bounds, fieldsCount, 7));
+                epic.setDuration(durationField(value, bounds, fieldsCount, 6));
+                yield epic;
+            }
+            case TaskType.SUBTASK -> new Subtask(
+                    stringField(value, bounds, fieldsCount, 2),
+                    stringField(value, bounds, fieldsCount, 4),
+                    statusField(value, bounds, fieldsCount, 3),
+                    dateTimeField(value, bounds, fieldsCount, 5),
+                    durationField(value, bounds, fieldsCount, 6),
+                    intField(value, bounds, fieldsCount, 8)
+            );
+            default -> new Task(
+                    stringField(value, bounds, fieldsCount, 2),
+                    stringField(value, bounds, fieldsCount, 4),
+                    statusField(value, bounds, fieldsCount, 3),
+                    dateTimeField(value, bounds, fieldsCount, 5),
+                    durationField(value, bounds, fieldsCount, 6)
+            );
         };
+        task.setId(intField(value, bounds, fieldsCount, 0));
+
+        return task;
     }
 
-    private static String taskToCsvString(Task task) {
-        return String.format(
-                "%d,%s,%s,%s,%s,%s,%d,%s",
-                task.getId(),
-                task.getType(),
-                task.getTitle(),
-                task.getStatus(),
-                task.getDescription(),
-                task.getStartTime() != null ? task.getStartTime().format(dateTimeFormatter) : null,
-                task.getDuration() != null ? task.getDuration().toMinutes() : null,
-                task.getEndTime() != null ? task.getEndTime().format(dateTimeFormatter) : null
-        );
-    }
-
-    private static String epicToCsvString(Epic epic) {
-        return String.format(
-                "%d,%s,%s,%s,%s,%s,%d,%s",
-                epic.getId(),
-                epic.getType(),
-                epic.getTitle(),
-                epic.getStatus(),
-                epic.getDescription(),
-                epic.getStartTime() != null ? epic.getStartTime().format(dateTimeFormatter) : null,
-                epic.getDuration() != null ? epic.getDuration().toMinutes() : null,
-                epic.getEndTime() != null ? epic.getEndTime().format(dateTimeFormatter) : null
-        );
-    }
-
-    private static String subtaskToCsvString(Subtask subtask) {
-        return String.format(
-                "%d,%s,%s,%s,%s,%s,%d,%s,%d",
-                subtask.getId(),
-                subtask.getType(),
-                subtask.getTitle(),
-                subtask.getStatus(),
-                subtask.getDescription(),
-                subtask.getStartTime() != null ? subtask.getStartTime().format(dateTimeFormatter) : null,
-                subtask.getDuration() != null ? subtask.getDuration().toMinutes() : null,
-                subtask.getEndTime() != null ? subtask.getEndTime().format(dateTimeFormatter) : null,
-                subtask.getEpicId()
-        );
-    }
-
-    private static Task taskFromCsvString(String value) throws IndexOutOfBoundsException, IllegalArgumentException {
-        String[] taskFields = value.split(",");
-        String taskId = taskFields[0];
-        String taskTitle = taskFields[2];
-        String taskStatus = taskFields[3];
-        String taskDescription = taskFields[4];
-        String taskStartTime = taskFields[5];
-        String taskDuration = taskFields[6];
-
-        Task task = new Task(
-                !taskTitle.equals("null") ? taskTitle : null,
-                !taskDescription.equals("null") ? taskDescription : null,
-                !taskStatus.equals("null") ? TaskStatus.valueOf(taskStatus) : null,
-                !taskStartTime.equals("null") ? LocalDateTime.parse(taskStartTime, dateTimeFormatter) : null,
-                !taskDuration.equals("null") ? Duration.ofMinutes(Long.parseLong(taskDuration)) : null
-        );
-        task.setId(Integer.parseInt(taskId));
+    public static int nextRecordStart(byte[] content, int from, int to) {
+        boolean fieldStart = true;
+        boolean quoted = false;
 
-        return task;
+        for (int i = from; i < to; i++) {
+            byte b = content[i];
+
+            if (quoted) {
+                if (b == QUOTE) {
+                    if (i + 1 < to && content[i + 1] == QUOTE) {
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                }
+            } else if (b == '\n') {
+                return i + 1;
+            } else if (b == QUOTE && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else {
+                fieldStart = b == SEPARATOR;
+            }
+        }
+
+        return to;
+    }
+
+    public static List<String> splitCsvRecords(byte[] content, int from, int to) {
+        List<String> records = new ArrayList<>();
+        int recordStart = from;
+
+        while (recordStart < to) {
+            int nextRecordStart = nextRecordStart(content, recordStart, to);
+            int recordEnd = nextRecordStart;
+
+            if (recordEnd > recordStart && content[recordEnd - 1] == '\n') {
+                recordEnd--;
+            }
+            if (recordEnd > recordStart && content[recordEnd - 1] == '\r') {
+                recordEnd--;
+            }
+
+            records.add(new String(content, recordStart, recordEnd - recordStart, UTF_8));
+            recordStart = nextRecordStart;
+        }
+
+        return records;
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append(NULL_VALUE);
+            return;
+        }
+
+        if (!isQuotingRequired(value)) {
+            sb.append(value);
+            return;
+        }
+
+        sb.append(QUOTE);
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == QUOTE) {
+                sb.append(QUOTE);
+            }
+            sb.append(c);
+        }
+
+        sb.append(QUOTE);
+    }
+
+    private static boolean isQuotingRequired(String value) {
+        if (value.equals(NULL_VALUE)) {
+            return true;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void appendDateTime(StringBuilder sb, LocalDateTime dateTime) {
+        if (dateTime == null) {
+            sb.append(NULL_VALUE);
+            return;
+        }
+
+        if (dateTime.getYear() < 1000 || dateTime.getYear() > 9999) {
+            sb.append(dateTime.format(dateTimeFormatter));
+            return;
+        }
+
+        appendTwoDigits(sb, dateTime.getDayOfMonth());
+        sb.append('.');
+        appendTwoDigits(sb, dateTime.getMonthValue());
+        sb.append('.').append(dateTime.getYear()).append(' ');
+        appendTwoDigits(sb, dateTime.getHour());
+        sb.append(':');
+        appendTwoDigits(sb, dateTime.getMinute());
+        sb.append(':');
+        appendTwoDigits(sb, dateTime.getSecond());
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static int scanFields(String value, int[] bounds) throws IllegalArgumentException {
+        int fieldsCount = 0;
+        int position = 0;
+
+        while (fieldsCount < TASK_FIELDS_COUNT) {
+            int start = position;
+            int end;
+
+            if (position < value.length() && value.charAt(position) == QUOTE) {
+                position++;
+
+                while (true) {
+                    position = value.indexOf(QUOTE, position);
+
+                    if (position < 0) {
+                        throw new IllegalArgumentException("Незакрытые кавычки в строке: " + value);
+                    }
+
+                    if (position + 1 < value.length() && value.charAt(position + 1) == QUOTE) {
+                        position += 2;
+                    } else {
+                        break;
+                    }
+                }
+
+                end = ++position;
+
+                if (position < value.length() && value.charAt(position) != SEPARATOR) {
+                    position = value.indexOf(SEPARATOR, position);
+
+                    if (position < 0) {
+                        position = value.length();
+                    }
+                    end = position;
+                }
+            } else {
+                position = value.indexOf(SEPARATOR, position);
+
+                if (position < 0) {
+                    position = value.length();
+                }
+                end = position;
+            }
+
+            bounds[fieldsCount * 2] = start;
+            bounds[fieldsCount * 2 + 1] = end;
+            fieldsCount++;
+
+            if (position >= value.length()) {
+                break;
+            }
+            position++;
+        }
+
+        return fieldsCount;
+    }
+
+    private static String field(String value, int[] bounds, int fieldsCount, int index)
+            throws IndexOutOfBoundsException {
+        return value.substring(bounds[checkIndex(index, fieldsCount) * 2], bounds[index * 2 + 1]);
+    }
+
+    private static boolean isNullField(String value, int[] bounds, int index) {
+        int start = bounds[index * 2];
+
+        return bounds[index * 2 + 1] - start == NULL_VALUE.length() && value.startsWith(NULL_VALUE, start);
     }
 
-    private static Epic epicFromCsvString(String value) throws IndexOutOfBoundsException, IllegalArgumentException {
-        String[] epicFields = value.split(",");
-        String epicId = epicFields[0];
-        String epicTitle = epicFields[2];
-        String epicStatus = epicFields[3];
-        String epicDescription = epicFields[4];
-        String epicStartTime = epicFields[5];
-        String epicDuration = epicFields[6];
-        String epicEndTime = epicFields[7];
+    private static String stringField(String value, int[] bounds, int fieldsCount, int index)
+            throws IndexOutOfBoundsException {
+        checkIndex(index, fieldsCount);
 
-        Epic epic = new Epic(
-                !epicTitle.equals("null") ? epicTitle : null,
-                !epicDescription.equals("null") ? epicDescription : null
-        );
-        epic.setId(Integer.parseInt(epicId));
-        epic.setStatus(!epicStatus.equals("null") ? TaskStatus.valueOf(epicStatus) : null);
-        epic.setStartTime(!epicStartTime.equals("null") ? LocalDateTime.parse(epicStartTime, dateTimeFormatter) : null);
-        epic.setEndTime(!epicEndTime.equals("null") ? LocalDateTime.parse(epicEndTime, dateTimeFormatter) : null);
-        epic.setDuration(!epicDuration.equals("null") ? Duration.ofMinutes(Long.parseLong(epicDuration)) : null);
+        if (isNullField(value, bounds, index)) {
+            return null;
+        }
 
-        return epic;
+        int start = bounds[index * 2];
+        int end = bounds[index * 2 + 1];
+
+        if (end - start < 2 || value.charAt(start) != QUOTE || value.charAt(end - 1) != QUOTE) {
+            return value.substring(start, end);
+        }
+
+        StringBuilder sb = new StringBuilder(end - start - 2);
+
+        for (int i = start + 1; i < end - 1; i++) {
+            char c = value.charAt(i);
+            sb.append(c);
+
+            if (c == QUOTE) {
+                i++;
+            }
+        }
+
+        return sb.toString();
     }
 
-    private static Subtask subtaskFromCsvString(String value)
+    private static TaskStatus statusField(String value, int[] bounds, int fieldsCount, int index)
             throws IndexOutOfBoundsException, IllegalArgumentException {
-        String[] subtaskFields = value.split(",");
-        String subtaskId = subtaskFields[0];
-        String subtaskTitle = subtaskFields[2];
-        String subtaskStatus = subtaskFields[3];
-        String subtaskDescription = subtaskFields[4];
-        String subtaskStartTime = subtaskFields[5];
-        String subtaskDuration = subtaskFields[6];
-        String subtaskEpicId = subtaskFields[8];
-
-        Subtask subtask = new Subtask(
-                !subtaskTitle.equals("null") ? subtaskTitle : null,
-                !subtaskDescription.equals("null") ? subtaskDescription : null,
-                !subtaskStatus.equals("null") ? TaskStatus.valueOf(subtaskStatus) : null,
-                !subtaskStartTime.equals("null") ? LocalDateTime.parse(subtaskStartTime, dateTimeFormatter) : null,
-                !subtaskDuration.equals("null") ? Duration.ofMinutes(Long.parseLong(subtaskDuration)) : null,
-                Integer.parseInt(subtaskEpicId)
-        );
-        subtask.setId(Integer.parseInt(subtaskId));
-
-        return subtask;
+        checkIndex(index, fieldsCount);
+
+        if (isNullField(value, bounds, index)) {
+            return null;
+        }
+
+        return TaskStatus.valueOf(field(value, bounds, fieldsCount, index));
+    }
+
+    private static int intField(String value, int[] bounds, int fieldsCount, int index)
+            throws IndexOutOfBoundsException, NumberFormatException {
+        checkIndex(index, fieldsCount);
+
+        return Integer.parseInt(value, bounds[index * 2], bounds[index * 2 + 1], 10);
+    }
+
+    private static Duration durationField(String value, int[] bounds, int fieldsCount, int index)
+            throws IndexOutOfBoundsException, NumberFormatException {
+        checkIndex(index, fieldsCount);
+
+        if (isNullField(value, bounds, index)) {
+            return null;
+        }
+
+        return Duration.ofMinutes(Long.parseLong(value, bounds[index * 2], bounds[index * 2 + 1], 10));
+    }
+
+    private static LocalDateTime dateTimeField(String value, int[] bounds, int fieldsCount, int index)
+            throws IndexOutOfBoundsException, IllegalArgumentException {
+        checkIndex(index, fieldsCount);
+
+        if (isNullField(value, bounds, index)) {
+            return null;
+        }
+
+        int start = bounds[index * 2];
+        int end = bounds[index * 2 + 1];
+
+        try {
+            if (end - start != DATE_TIME_LENGTH
+                    || value.charAt(start + 2) != '.'
+                    || value.charAt(start + 5) != '.'
+                    || value.charAt(start + 10) != ' '
+                    || value.charAt(start + 13) != ':'
+                    || value.charAt(start + 16) != ':') {
+                return LocalDateTime.parse(value.substring(start, end), dateTimeFormatter);
+            }
+
+            return LocalDateTime.of(
+                    digits(value, start + 6, 4),
+                    digits(value, start + 3, 2),
+                    digits(value, start, 2),
+                    digits(value, start + 11, 2),
+                    digits(value, start + 14, 2),
+                    digits(value, start + 17, 2)
+            );
+        } catch (DateTimeException exception) {
+            throw new IllegalArgumentException("Некорректная дата: " + value.substring(start, end));
+        }
+    }
+
+    private static int digits(String value, int start, int count) throws IllegalArgumentException {
+        int result = 0;
+
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Некорректная дата: " + value);
+            }
+            result = result * 10 + (c - '0');
+        }
+
+        return result;
+    }
+
+    private static int checkIndex(int index, int fieldsCount) throws IndexOutOfBoundsException {
+        if (index >= fieldsCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + fieldsCount);
+        }
+
+        return index;
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -104,4 +106,41 @@ class TaskTest {
 
         assertEquals(TaskType.TASK, task.getType());
     }
+
+    @Test
+    void loadTextFromTextSource() {
+        List<Integer> requestedRecords = new ArrayList<>();
+        TextSource textSource = new TextSource() {
+            @Override
+            public String getTitle(int record) {
+                requestedRecords.add(record);
+                return "Title" + record;
+            }
+
+            @Override
+            public String getDescription(int record) {
+                requestedRecords.add(record);
+                return "Description" + record;
+            }
+        };
+        Task task = new Task(null, null, TaskStatus.NEW, currentDate, Duration.ofMinutes(60));
+        task.setTextSource(textSource, 7);
+
+        assertTrue(requestedRecords.isEmpty());
+        assertEquals("Title7", task.getTitle());
+
+        Task copiedTask = new Task(task);
+        requestedRecords.clear();
+
+        assertFalse(copiedTask.isTextLoaded());
+        assertEquals("Description7", copiedTask.getDescription());
+        assertEquals(List.of(7), requestedRecords);
+
+        task.setTitle("NewTitle");
+        requestedRecords.clear();
+
+        assertEquals("NewTitle", task.getTitle());
+        assertEquals("Description7", task.getDescription());
+        assertTrue(requestedRecords.isEmpty());
+    }
 }
\ No newline at end of file
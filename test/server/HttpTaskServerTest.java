@@ -1,6 +1,9 @@
 package server;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
 import model.Epic;
 import model.Subtask;
 import model.Task;
@@ -8,25 +11,40 @@ import model.TaskStatus;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import service.ConcurrentTaskManager;
+import service.FileBackedTaskManager;
+import service.InMemoryTaskManager;
+import service.LoadMode;
 import service.Managers;
+import service.SnapshotFormat;
+import service.StorageMode;
 import service.TaskManager;
 import util.EpicsListTypeToken;
 import util.SubtasksListTypeToken;
 import util.TasksListTypeToken;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class HttpTaskServerTest {
-    private final TaskManager taskManager = Managers.getDefault();
+    private final FileBackedTaskManager taskManager = new FileBackedTaskManager(Files.createTempFile("test", ".csv"));
     private final HttpTaskServer taskServer = new HttpTaskServer(taskManager);
     private final Gson gson = taskServer.getGson();
     static final LocalDateTime currentDate = LocalDateTime.now();
@@ -46,6 +64,7 @@ public class HttpTaskServerTest {
     @AfterEach
     public void stopServer() {
         taskServer.stop();
+        taskManager.close();
     }
 
     @Test
@@ -195,6 +214,109 @@ public class HttpTaskServerTest {
         }
     }
 
+    @Test
+    public void getPrioritizedTasksPageByCursor() throws IOException, InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            taskManager.createTask(new Task(
+                    "Title",
+                    "Description",
+                    TaskStatus.NEW,
+                    currentDate.plusDays(i),
+                    Duration.ofMinutes(60)
+            ));
+        }
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            List<Task> tasksFromManager = new ArrayList<>();
+            String query = "?limit=2";
+
+            while (query != null) {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:8080/prioritized" + query))
+                        .GET()
+                        .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(200, response.statusCode());
+
+                List<Task> page = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+                tasksFromManager.addAll(page);
+                query = response.headers()
+                        .firstValue("X-Next-Cursor")
+                        .map(cursor -> "?limit=2&cursor=" + cursor)
+                        .orElse(null);
+            }
+
+            assertEquals(taskManager.getPrioritizedTasks(), tasksFromManager);
+        }
+    }
+
+    @Test
+    public void getTasksPageByCursor() throws IOException, InterruptedException {
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            tasks.add(taskManager.createTask(new Task("Title", "Description")));
+        }
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            List<Task> tasksFromServer = new ArrayList<>();
+            List<Integer> pageSizes = new ArrayList<>();
+            String query = "?limit=2";
+
+            while (query != null) {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:8080/tasks" + query))
+                        .GET()
+                        .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(200, response.statusCode());
+
+                List<Task> page = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+                tasksFromServer.addAll(page);
+                pageSizes.add(page.size());
+                query = response.headers()
+                        .firstValue("X-Next-Cursor")
+                        .map(cursor -> "?limit=2&cursor=" + cursor)
+                        .orElse(null);
+            }
+
+            assertEquals(tasks, tasksFromServer);
+            assertEquals(List.of(2, 2, 1), pageSizes);
+
+            taskManager.removeTaskById(tasks.get(1).getId());
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/tasks?limit=2&cursor=" + tasks.get(1).getId()))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            List<Task> page = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(tasks.subList(2, 4), page);
+
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/tasks?limit=2&cursor=" + (tasks.getLast().getId() + 100)))
+                    .GET()
+                    .build();
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            page = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+
+            assertEquals(200, response.statusCode());
+            assertTrue(page.isEmpty());
+            assertTrue(response.headers().firstValue("X-Next-Cursor").isEmpty());
+
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/tasks?limit=0"))
+                    .GET()
+                    .build();
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(400, response.statusCode());
+        }
+    }
+
     @Test
     public void deleteTask() throws IOException, InterruptedException {
         Task task = new Task(
@@ -592,6 +714,35 @@ public class HttpTaskServerTest {
         }
     }
 
+    @Test
+    public void getHistoryPage() throws IOException, InterruptedException {
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task("Title", "Description");
+            taskManager.createTask(task);
+            taskManager.getTaskById(task.getId());
+            tasks.add(task);
+        }
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create("http://localhost:8080/history?limit=2&cursor=1");
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(uri)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+
+            List<Task> tasksFromHistory = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+
+            assertEquals(tasks.subList(1, 3), tasksFromHistory);
+            assertEquals("3", response.headers().firstValue("X-Next-Cursor").orElse(null));
+        }
+    }
+
     @Test
     public void getPrioritizedTasks() throws IOException, InterruptedException {
         Task firstTask = new Task(
@@ -646,6 +797,23 @@ public class HttpTaskServerTest {
         }
     }
 
+    @Test
+    public void getMethodNotAllowedResponseForUnknownPath() throws IOException, InterruptedException {
+        List<String> paths = List.of("/tasks/", "/tasks/abc", "/tasks/1/2", "/taskss", "/epics/1/subtask");
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (String path : paths) {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:8080" + path))
+                        .GET()
+                        .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(405, response.statusCode(), path);
+            }
+        }
+    }
+
     @Test
     public void getNotFoundResponse() throws IOException, InterruptedException {
         try (HttpClient client = HttpClient.newHttpClient()) {
@@ -693,4 +861,266 @@ public class HttpTaskServerTest {
             assertEquals(406, response.statusCode());
         }
     }
+
+    @Test
+    public void createTasksConcurrentlyOnVirtualThreads() throws IOException, InterruptedException {
+        HttpTaskServer virtualThreadsServer = new HttpTaskServer(
+                new ConcurrentTaskManager(),
+                new InetSocketAddress("localhost", 0),
+                64,
+                ExecutorMode.VIRTUAL_THREAD_PER_REQUEST,
+                1
+        );
+        virtualThreadsServer.start();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create("http://localhost:" + virtualThreadsServer.getAddress().getPort() + "/tasks");
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+            for (int i = 0; i < 50; i++) {
+                Task task = new Task(
+                        "Title",
+                        "Description",
+                        TaskStatus.NEW,
+                        currentDate.plusHours(i),
+                        Duration.ofMinutes(30)
+                );
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(uri)
+                        .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(task)))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.join().statusCode());
+            }
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(uri)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            List<Task> tasksFromServer = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+
+            assertEquals(50, tasksFromServer.size());
+        } finally {
+            virtualThreadsServer.stop();
+        }
+    }
+
+    @Test
+    public void createTasksConcurrentlyWithNotThreadSafeManager() throws IOException, InterruptedException {
+        AtomicInteger activeCalls = new AtomicInteger();
+        AtomicInteger maxActiveCalls = new AtomicInteger();
+        TaskManager notThreadSafeTaskManager = new InMemoryTaskManager() {
+            @Override
+            public Task createTask(Task task) {
+                maxActiveCalls.accumulateAndGet(activeCalls.incrementAndGet(), Math::max);
+
+                try {
+                    Thread.sleep(1);
+                    return super.createTask(task);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(exception);
+                } finally {
+                    activeCalls.decrementAndGet();
+                }
+            }
+        };
+        HttpTaskServer threadPoolServer = new HttpTaskServer(
+                notThreadSafeTaskManager,
+                new InetSocketAddress("localhost", 0),
+                64,
+                ExecutorMode.FIXED_THREAD_POOL,
+                8
+        );
+        threadPoolServer.start();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create("http://localhost:" + threadPoolServer.getAddress().getPort() + "/tasks");
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+            for (int i = 0; i < 200; i++) {
+                Task task = new Task(
+                        "Title",
+                        "Description",
+                        TaskStatus.NEW,
+                        currentDate.plusHours(i),
+                        Duration.ofMinutes(30)
+                );
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(uri)
+                        .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(task)))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.join().statusCode());
+            }
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(uri)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            List<Task> tasksFromServer = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+
+            assertEquals(200, tasksFromServer.size());
+            assertEquals(1, maxActiveCalls.get());
+        } finally {
+            threadPoolServer.stop();
+        }
+    }
+
+    @Test
+    public void getHistoryOfEachClientSeparately() throws IOException, InterruptedException {
+        TaskManager partitionedTaskManager = new ConcurrentTaskManager(Managers.getPartitionedHistory(16, 10));
+        HttpTaskServer partitionedServer = new HttpTaskServer(
+                partitionedTaskManager,
+                new InetSocketAddress("localhost", 0),
+                64,
+                ExecutorMode.VIRTUAL_THREAD_PER_REQUEST,
+                1
+        );
+        Task firstTask = new Task("Title", "Description");
+        Task secondTask = new Task("Title", "Description");
+        partitionedTaskManager.createTask(firstTask);
+        partitionedTaskManager.createTask(secondTask);
+        partitionedServer.start();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            String address = "http://localhost:" + partitionedServer.getAddress().getPort();
+
+            for (Task task : List.of(firstTask, secondTask)) {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create(address + "/tasks/" + task.getId()))
+                        .header("X-Client-Id", task == firstTask ? "first" : "second")
+                        .GET()
+                        .build();
+
+                assertEquals(200, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+            }
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(address + "/history"))
+                    .header("X-Client-Id", "second")
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            List<Task> tasksFromHistory = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(List.of(secondTask), tasksFromHistory);
+        } finally {
+            partitionedServer.stop();
+        }
+    }
+
+    @Test
+    public void closeExchangeWhenResponseFailsAfterHeaders() throws IOException, InterruptedException {
+        List<Throwable> handlerErrors = new ArrayList<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        BaseHttpHandler failingHandler = new BaseHttpHandler(taskManager, gson) {
+            @Override
+            protected void processGetRequest(HttpExchange httpExchange, String path) throws IOException {
+                sendJson(httpExchange, new AbstractList<Task>() {
+                    @Override
+                    public Task get(int index) {
+                        throw new JsonIOException(new IOException("Соединение закрыто"));
+                    }
+
+                    @Override
+                    public int size() {
+                        return 1;
+                    }
+                });
+            }
+
+            @Override
+            protected void processPostRequest(HttpExchange httpExchange, String path) throws IOException {
+                sendMethodNotAllowed(httpExchange);
+            }
+
+            @Override
+            protected void processDeleteRequest(HttpExchange httpExchange, String path) throws IOException {
+                sendMethodNotAllowed(httpExchange);
+            }
+        };
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/failing", httpExchange -> {
+            try {
+                failingHandler.handle(httpExchange);
+            } catch (IOException | RuntimeException exception) {
+                handlerErrors.add(exception);
+            } finally {
+                handled.countDown();
+            }
+        });
+        httpServer.start();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:" + httpServer.getAddress().getPort() + "/failing"))
+                    .GET()
+                    .build();
+
+            try {
+                client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException exception) {
+                assertNotNull(exception);
+            }
+
+            assertTrue(handled.await(5, TimeUnit.SECONDS));
+            assertTrue(handlerErrors.isEmpty());
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
+    @Test
+    public void getLazilyLoadedTasksWithText() throws IOException, InterruptedException {
+        Path filePath = Files.createTempFile("test", ".bin");
+        FileBackedTaskManager binaryTaskManager = new FileBackedTaskManager(
+                filePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.BINARY
+        );
+        binaryTaskManager.createTask(new Task("Title", "Description"));
+        binaryTaskManager.close();
+        FileBackedTaskManager lazyTaskManager = FileBackedTaskManager.loadFromFile(
+                filePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.BINARY,
+                LoadMode.LAZY
+        );
+        HttpTaskServer lazyServer = new HttpTaskServer(
+                lazyTaskManager,
+                new InetSocketAddress("localhost", 0),
+                0,
+                ExecutorMode.DISPATCHER_THREAD,
+                1
+        );
+        lazyServer.start();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:" + lazyServer.getAddress().getPort() + "/tasks"))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            List<Task> tasksFromServer = gson.fromJson(response.body(), new TasksListTypeToken().getType());
+
+            assertFalse(lazyTaskManager.getReadView().getTasks().getFirst().isTextLoaded());
+            assertEquals(200, response.statusCode());
+            assertEquals(1, tasksFromServer.size());
+            assertEquals("Title", tasksFromServer.getFirst().getTitle());
+            assertEquals("Description", tasksFromServer.getFirst().getDescription());
+        } finally {
+            lazyServer.stop();
+            lazyTaskManager.close();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package service;
+
+import model.Task;
+import model.TaskStatus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncHistoryManagerTest {
+    private AsyncHistoryManager asyncHistoryManager;
+
+    @BeforeEach
+    void createNewAsyncHistoryManager() {
+        asyncHistoryManager = new AsyncHistoryManager(new InMemoryHistoryManager(), 16, Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void closeAsyncHistoryManager() {
+        asyncHistoryManager.close();
+    }
+
+    @Test
+    void applyViewsInSubmissionOrder() {
+        Task task = createTask(1);
+        asyncHistoryManager.add(task);
+        task.setTitle("NewTitle");
+        task.setStatus(TaskStatus.DONE);
+        asyncHistoryManager.add(createTask(2));
+        asyncHistoryManager.add(createTask(3));
+        asyncHistoryManager.remove(2);
+        asyncHistoryManager.flush();
+        List<Task> tasksInHistory = asyncHistoryManager.getHistory();
+
+        assertEquals(List.of(1, 3), tasksInHistory.stream().map(Task::getId).toList());
+        assertEquals("Title", tasksInHistory.getFirst().getTitle());
+        assertEquals(TaskStatus.NEW, tasksInHistory.getFirst().getStatus());
+        assertEquals(0, asyncHistoryManager.getPendingEvents());
+    }
+
+    @Test
+    void applyViewsWithinBoundedDelay() throws InterruptedException {
+        asyncHistoryManager.add(createTask(1));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        while (asyncHistoryManager.getHistory().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(1, asyncHistoryManager.getHistory().size());
+    }
+
+    @Test
+    void dropViewsWhenBufferIsFull() throws InterruptedException {
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseConsumer = new CountDownLatch(1);
+        HistoryManager blockingHistoryManager = new InMemoryHistoryManager() {
+            @Override
+            public void add(Task task) {
+                consumerBlocked.countDown();
+
+                try {
+                    releaseConsumer.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                super.add(task);
+            }
+        };
+
+        AsyncHistoryManager historyManager = new AsyncHistoryManager(blockingHistoryManager, 4, Duration.ofMillis(1));
+
+        try {
+            historyManager.add(createTask(0));
+            consumerBlocked.await();
+
+            for (int id = 1; id <= 10; id++) {
+                historyManager.add(createTask(id));
+            }
+
+            releaseConsumer.countDown();
+            historyManager.flush();
+
+            assertEquals(7, historyManager.getDroppedEvents());
+            assertEquals(List.of(0, 1, 2, 3), historyManager.getHistory().stream().map(Task::getId).toList());
+        } finally {
+            releaseConsumer.countDown();
+            historyManager.close();
+        }
+    }
+
+    @Test
+    void dropEventsAfterClose() throws InterruptedException {
+        asyncHistoryManager.add(createTask(1));
+        asyncHistoryManager.close();
+
+        Thread events = new Thread(() -> {
+            for (int id = 2; id <= 100; id++) {
+                asyncHistoryManager.add(createTask(id));
+                asyncHistoryManager.remove(id);
+            }
+        });
+        events.setDaemon(true);
+        events.start();
+        events.join(Duration.ofSeconds(5).toMillis());
+
+        assertFalse(events.isAlive());
+        assertEquals(198, asyncHistoryManager.getDroppedEvents());
+        assertEquals(List.of(1), asyncHistoryManager.getHistory().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void recordViewsFromManyThreads() throws InterruptedException {
+        AsyncHistoryManager historyManager = new AsyncHistoryManager(new InMemoryHistoryManager());
+
+        try (historyManager; ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                int firstId = thread * 1_000;
+
+                executor.execute(() -> {
+                    for (int id = firstId; id < firstId + 1_000; id++) {
+                        historyManager.add(createTask(id));
+                    }
+                });
+            }
+        }
+
+        historyManager.flush();
+        List<Integer> ids = new ArrayList<>(historyManager.getHistory().stream().map(Task::getId).toList());
+        ids.sort(Integer::compare);
+
+        assertEquals(8_000 - historyManager.getDroppedEvents(), ids.size());
+        assertEquals(ids.size(), ids.stream().distinct().count());
+    }
+
+    @Test
+    void recordViewsIntoClientPartition() {
+        PartitionedHistoryManager partitionedHistoryManager = new PartitionedHistoryManager(4, 4);
+
+        try (AsyncHistoryManager historyManager = new AsyncHistoryManager(partitionedHistoryManager)) {
+            HistoryPartition.set("first");
+            historyManager.add(createTask(1));
+            HistoryPartition.set("second");
+            historyManager.add(createTask(2));
+            historyManager.flush();
+
+            assertEquals(List.of(2), historyManager.getHistory().stream().map(Task::getId).toList());
+            assertEquals(List.of(1), partitionedHistoryManager.getHistory("first").stream().map(Task::getId).toList());
+        } finally {
+            HistoryPartition.clear();
+        }
+    }
+
+    private static Task createTask(int id) {
+        Task task = new Task("Title", "Description");
+        task.setId(id);
+
+        return task;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package service;
+
+import model.Task;
+import model.TaskStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedHistoryManagerTest {
+    private static final LocalDateTime currentDate = LocalDateTime.now();
+    private static final int CAPACITY = 3;
+    private BoundedHistoryManager boundedHistoryManager;
+
+    @BeforeEach
+    void createNewBoundedHistoryManager() {
+        boundedHistoryManager = new BoundedHistoryManager(CAPACITY);
+    }
+
+    @Test
+    void createBoundedHistoryManager() {
+        assertEquals(CAPACITY, boundedHistoryManager.getCapacity());
+        assertTrue(boundedHistoryManager.getHistory().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedHistoryManager(0));
+    }
+
+    @Test
+    void taskInHistoryCannotBeChanged() {
+        Task task = new Task(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(60)
+        );
+        task.setId(1);
+        boundedHistoryManager.add(task);
+        task.setTitle("NewTitle");
+        Task copyTaskFromHistory = boundedHistoryManager.getHistory().getFirst();
+        copyTaskFromHistory.setDescription("NewDescription");
+        copyTaskFromHistory.setStatus(TaskStatus.IN_PROGRESS);
+
+        assertEquals("Title", boundedHistoryManager.getHistory().getFirst().getTitle());
+        assertEquals("Description", boundedHistoryManager.getHistory().getFirst().getDescription());
+        assertEquals(TaskStatus.NEW, boundedHistoryManager.getHistory().getFirst().getStatus());
+        assertEquals(currentDate.plusMinutes(60), boundedHistoryManager.getHistory().getFirst().getEndTime());
+    }
+
+    @Test
+    void evictLeastRecentlyViewedTask() {
+        for (int id = 1; id <= CAPACITY; id++) {
+            Task task = new Task("Title" + id, "Description");
+            task.setId(id);
+            boundedHistoryManager.add(task);
+        }
+
+        Task firstTask = new Task("NewTitle", "NewDescription", TaskStatus.DONE, currentDate, Duration.ofMinutes(15));
+        firstTask.setId(1);
+        boundedHistoryManager.add(firstTask);
+        Task fourthTask = new Task("Title4", "Description");
+        fourthTask.setId(4);
+        boundedHistoryManager.add(fourthTask);
+        List<Task> tasksInHistory = boundedHistoryManager.getHistory();
+
+        assertEquals(List.of(3, 1, 4), tasksInHistory.stream().map(Task::getId).toList());
+        assertEquals("NewTitle", tasksInHistory.get(1).getTitle());
+        assertEquals(TaskStatus.DONE, tasksInHistory.get(1).getStatus());
+        assertEquals(currentDate, tasksInHistory.get(1).getStartTime());
+        assertNull(tasksInHistory.getLast().getStartTime());
+    }
+
+    @Test
+    void removeTasksFromHistory() {
+        for (int id = 1; id <= CAPACITY; id++) {
+            Task task = new Task("Title", "Description");
+            task.setId(id);
+            boundedHistoryManager.add(task);
+        }
+
+        boundedHistoryManager.remove(2);
+        boundedHistoryManager.remove(5);
+
+        assertEquals(List.of(1, 3), boundedHistoryManager.getHistory().stream().map(Task::getId).toList());
+
+        Task task = new Task("Title", "Description");
+        task.setId(2);
+        boundedHistoryManager.add(task);
+        boundedHistoryManager.remove(1);
+        boundedHistoryManager.remove(3);
+
+        assertEquals(List.of(2), boundedHistoryManager.getHistory().stream().map(Task::getId).toList());
+
+        boundedHistoryManager.remove(2);
+
+        assertTrue(boundedHistoryManager.getHistory().isEmpty());
+    }
+
+    @Test
+    void keepSameOrderAsUnboundedHistoryWithinCapacity() {
+        BoundedHistoryManager historyManager = new BoundedHistoryManager(64);
+        LinkedHashSet<Integer> expectedIds = new LinkedHashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            int id = random.nextInt(256);
+
+            if (random.nextInt(4) == 0) {
+                historyManager.remove(id);
+                expectedIds.remove(id);
+            } else {
+                Task task = new Task("Title", "Description");
+                task.setId(id);
+                historyManager.add(task);
+                expectedIds.remove(id);
+                expectedIds.add(id);
+
+                if (expectedIds.size() > 64) {
+                    expectedIds.remove(expectedIds.getFirst());
+                }
+            }
+        }
+
+        assertEquals(new ArrayList<>(expectedIds), historyManager.getHistory().stream().map(Task::getId).toList());
+    }
+}
\ No newline at end of file
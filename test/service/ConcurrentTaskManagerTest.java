@@ -0,0 +1,195 @@
+package service;
+
+import exception.OverlapException;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+
+    @BeforeEach
+    void createNewConcurrentTaskManager() {
+        taskManager = new ConcurrentTaskManager();
+    }
+
+    @Test
+    void createTasksFromManyThreads() throws Exception {
+        Epic epic = new Epic("Title", "Description");
+        taskManager.createEpic(epic);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                int slot = i;
+                futures.add(executorService.submit(() -> {
+                    if (slot % 2 == 0) {
+                        taskManager.createTask(new Task(
+                                "Title",
+                                "Description",
+                                TaskStatus.NEW,
+                                currentDate.plusHours(slot),
+                                Duration.ofMinutes(30)
+                        ));
+                    } else {
+                        taskManager.createSubtask(new Subtask(
+                                "Title",
+                                "Description",
+                                TaskStatus.DONE,
+                                currentDate.plusHours(slot),
+                                Duration.ofMinutes(30),
+                                epic.getId()
+                        ));
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        Epic epicInManager = taskManager.getEpicById(epic.getId());
+
+        assertEquals(500, taskManager.getAllTasks().size());
+        assertEquals(500, taskManager.getAllSubtasks().size());
+        assertEquals(1_000, taskManager.getPrioritizedTasks().size());
+        assertEquals(500, epicInManager.getSubtasksIds().size());
+        assertEquals(TaskStatus.DONE, epicInManager.getStatus());
+        assertEquals(500 * 30, epicInManager.getDuration().toMinutes());
+    }
+
+    @Test
+    void acceptOnlyOneOfConcurrentOverlappingTasks() throws Exception {
+        AtomicInteger overlapsCount = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 100; i++) {
+                int offset = i;
+                futures.add(executorService.submit(() -> {
+                    try {
+                        taskManager.createTask(new Task(
+                                "Title",
+                                "Description",
+                                TaskStatus.NEW,
+                                currentDate.plusMinutes(offset % 10),
+                                Duration.ofMinutes(60)
+                        ));
+                    } catch (OverlapException exception) {
+                        overlapsCount.incrementAndGet();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(1, taskManager.getAllTasks().size());
+        assertEquals(1, taskManager.getPrioritizedTasks().size());
+        assertEquals(99, overlapsCount.get());
+    }
+
+    @Test
+    void keepRemovedTaskOutOfHistoryWhileReading() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch removalStarted = new CountDownLatch(1);
+        HistoryManager historyManager = Managers.getDefaultHistory();
+        taskManager = new ConcurrentTaskManager(new ConcurrentHistoryManager() {
+            @Override
+            public void add(Task task) {
+                readStarted.countDown();
+
+                try {
+                    removalStarted.await(1, TimeUnit.SECONDS);
+                    Thread.sleep(50);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+
+                synchronized (historyManager) {
+                    historyManager.add(task);
+                }
+            }
+
+            @Override
+            public void remove(int id) {
+                synchronized (historyManager) {
+                    historyManager.remove(id);
+                }
+            }
+
+            @Override
+            public List<Task> getHistory() {
+                synchronized (historyManager) {
+                    return historyManager.getHistory();
+                }
+            }
+        });
+        Task task = taskManager.createTask(new Task("Title", "Description"));
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+            Future<?> reader = executorService.submit(() -> taskManager.getTaskById(task.getId()));
+            Future<?> remover = executorService.submit(() -> {
+                readStarted.await();
+                removalStarted.countDown();
+                return taskManager.removeTaskById(task.getId());
+            });
+
+            reader.get();
+            remover.get();
+        }
+
+        assertTrue(taskManager.getHistory().isEmpty());
+    }
+
+    @Test
+    void getConsistentReadViewWhileWriting() throws Exception {
+        Epic epic = new Epic("Title", "Description");
+        taskManager.createEpic(epic);
+
+        try (ExecutorService executorService = Executors.newSingleThreadExecutor()) {
+            Future<?> writer = executorService.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    taskManager.createSubtask(new Subtask(
+                            "Title",
+                            "Description",
+                            TaskStatus.NEW,
+                            null,
+                            null,
+                            epic.getId()
+                    ));
+                }
+            });
+
+            while (!writer.isDone()) {
+                ReadView readView = taskManager.getReadView();
+
+                assertEquals(
+                        readView.getSubtasks().size(),
+                        readView.getEpics().getFirst().getSubtasksIds().size()
+                );
+            }
+
+            writer.get();
+        }
+
+        assertEquals(2_000, taskManager.getReadView().getSubtasks().size());
+    }
+}
\ No newline at end of file
@@ -1,38 +1,61 @@
 package service;
 
+import exception.ManagerLoadException;
+import exception.ManagerSaveException;
 import model.Epic;
 import model.Subtask;
 import model.Task;
 import model.TaskStatus;
+import model.TaskType;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.zip.CRC32C;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
     private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+    private final List<FileBackedTaskManager> openedManagers = new ArrayList<>();
     private Path tempFilePath;
 
     @BeforeEach
     void createNewFileBackedTaskManager() {
         try {
             tempFilePath = Files.createTempFile("test", ".csv");
-            taskManager = new FileBackedTaskManager(tempFilePath);
+            taskManager = new FileBackedTaskManager(tempFilePath, StorageMode.SNAPSHOT);
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
     }
 
+    @AfterEach
+    void closeFileBackedTaskManagers() {
+        taskManager.close();
+
+        for (FileBackedTaskManager fileBackedTaskManager : openedManagers) {
+            fileBackedTaskManager.close();
+        }
+    }
+
     @Test
     void saveManagerStateInFile() {
         Task task = new Task(
@@ -119,7 +142,10 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
         Task taskWithoutStartTimeInManager = taskManager.getTaskById(taskWithoutStartTime.getId());
         Epic epicInManager = taskManager.getEpicById(epic.getId());
         Subtask subtaskInManager = taskManager.getSubtaskById(subtask.getId());
-        FileBackedTaskManager newFileBackedTaskManager = FileBackedTaskManager.loadFromFile(tempFilePath);
+        taskManager.flush();
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
 
         assertNotNull(newFileBackedTaskManager);
         assertNotNull(newFileBackedTaskManager.getAllTasks());
@@ -130,7 +156,10 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
         assertEquals(1, newFileBackedTaskManager.getAllEpics().size());
         assertEquals(1, newFileBackedTaskManager.getAllSubtasks().size());
         assertEquals(2, newFileBackedTaskManager.getPrioritizedTasks().size());
-        assertTrue(newFileBackedTaskManager.getHistory().isEmpty());
+        assertEquals(
+                List.of(task.getId(), taskWithoutStartTime.getId(), epic.getId(), subtask.getId()),
+                newFileBackedTaskManager.getHistory().stream().map(Task::getId).toList()
+        );
 
         List<Task> allTasks = newFileBackedTaskManager.getAllTasks();
         List<Epic> allEpics = newFileBackedTaskManager.getAllEpics();
@@ -172,7 +201,9 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
 
     @Test
     void successCreateManagerFromEmptyFile() {
-        FileBackedTaskManager newFileBackedTaskManager = FileBackedTaskManager.loadFromFile(tempFilePath);
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
 
         assertNotNull(newFileBackedTaskManager);
         assertNotNull(newFileBackedTaskManager.getAllTasks());
@@ -195,19 +226,29 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
             throw new RuntimeException(exception);
         }
 
-        FileBackedTaskManager newFileBackedTaskManager = FileBackedTaskManager.loadFromFile(tempFilePath);
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(tempFilePath));
+    }
 
-        assertNotNull(newFileBackedTaskManager);
-        assertNotNull(newFileBackedTaskManager.getAllTasks());
-        assertNotNull(newFileBackedTaskManager.getAllEpics());
-        assertNotNull(newFileBackedTaskManager.getAllSubtasks());
-        assertNotNull(newFileBackedTaskManager.getHistory());
-        assertNotNull(newFileBackedTaskManager.getPrioritizedTasks());
-        assertTrue(newFileBackedTaskManager.getAllTasks().isEmpty());
-        assertTrue(newFileBackedTaskManager.getAllEpics().isEmpty());
-        assertTrue(newFileBackedTaskManager.getAllSubtasks().isEmpty());
-        assertTrue(newFileBackedTaskManager.getHistory().isEmpty());
-        assertTrue(newFileBackedTaskManager.getPrioritizedTasks().isEmpty());
+    @Test
+    void errorCreateManagerFromFileWithOrphanSubtask() throws IOException {
+        Epic epic = new Epic("Title", "Description");
+        taskManager.createEpic(epic);
+        taskManager.createSubtask(new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(60),
+                epic.getId()
+        ));
+        Files.deleteIfExists(tempFilePath.resolveSibling(tempFilePath.getFileName() + ".prev"));
+        Files.deleteIfExists(tempFilePath.resolveSibling(tempFilePath.getFileName() + ".checksum"));
+        Files.write(tempFilePath, Files.readAllLines(tempFilePath, UTF_8)
+                .stream()
+                .filter(line -> !line.contains(",EPIC,"))
+                .toList(), UTF_8);
+
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(tempFilePath));
     }
 
     @Test
@@ -220,18 +261,983 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
             throw new RuntimeException(exception);
         }
 
-        FileBackedTaskManager newFileBackedTaskManager = FileBackedTaskManager.loadFromFile(tempFilePath);
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(tempFilePath));
+    }
 
-        assertNotNull(newFileBackedTaskManager);
-        assertNotNull(newFileBackedTaskManager.getAllTasks());
-        assertNotNull(newFileBackedTaskManager.getAllEpics());
-        assertNotNull(newFileBackedTaskManager.getAllSubtasks());
-        assertNotNull(newFileBackedTaskManager.getHistory());
-        assertNotNull(newFileBackedTaskManager.getPrioritizedTasks());
-        assertTrue(newFileBackedTaskManager.getAllTasks().isEmpty());
+    @Test
+    void journalChangesByDefault() {
+        try (FileBackedTaskManager defaultTaskManager = new FileBackedTaskManager(tempFilePath)) {
+            defaultTaskManager.createTask(new Task("Title", "Description"));
+
+            assertEquals(0, tempFilePath.toFile().length());
+            assertTrue(Files.exists(tempFilePath.resolveSibling(tempFilePath.getFileName() + ".journal")));
+        }
+
+        assertEquals(1, closeAfterTest(FileBackedTaskManager.loadFromFile(tempFilePath)).getAllTasks().size());
+    }
+
+    @Test
+    void restoreManagerFromJournal() {
+        FileBackedTaskManager journaledTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.JOURNAL)
+        );
+        Task task = new Task(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(60)
+        );
+        Task removedTask = new Task("Title", "Description");
+        Epic epic = new Epic("Title", "Description");
+        journaledTaskManager.createTask(task);
+        journaledTaskManager.createTask(removedTask);
+        journaledTaskManager.createEpic(epic);
+        Subtask subtask = new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.DONE,
+                currentDate.plusDays(1),
+                Duration.ofMinutes(120),
+                epic.getId()
+        );
+        journaledTaskManager.createSubtask(subtask);
+        task.setTitle("NewTitle");
+        journaledTaskManager.updateTask(task);
+        journaledTaskManager.removeTaskById(removedTask.getId());
+
+        assertEquals(0, tempFilePath.toFile().length());
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.JOURNAL
+        ));
+
+        assertEquals(1, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals("NewTitle", newFileBackedTaskManager.getAllTasks().getFirst().getTitle());
+        assertEquals(1, newFileBackedTaskManager.getAllEpics().size());
+        assertEquals(TaskStatus.DONE, newFileBackedTaskManager.getAllEpics().getFirst().getStatus());
+        assertEquals(1, newFileBackedTaskManager.getAllSubtasks().size());
+        assertEquals(2, newFileBackedTaskManager.getPrioritizedTasks().size());
+
+        newFileBackedTaskManager.removeAllEpics();
+        newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath, StorageMode.JOURNAL)
+        );
+
+        assertEquals(1, newFileBackedTaskManager.getAllTasks().size());
         assertTrue(newFileBackedTaskManager.getAllEpics().isEmpty());
         assertTrue(newFileBackedTaskManager.getAllSubtasks().isEmpty());
-        assertTrue(newFileBackedTaskManager.getHistory().isEmpty());
-        assertTrue(newFileBackedTaskManager.getPrioritizedTasks().isEmpty());
+    }
+
+    @Test
+    void truncateTornTailOfJournal() throws IOException {
+        FileBackedTaskManager journaledTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.JOURNAL)
+        );
+        Path journalPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".journal");
+
+        for (int i = 0; i < 5; i++) {
+            journaledTaskManager.createTask(new Task("Title", "Description"));
+        }
+
+        journaledTaskManager.close();
+        long validLength = Files.size(journalPath);
+        Files.writeString(journalPath, "PUT,6,TA", UTF_8, StandardOpenOption.APPEND);
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.JOURNAL
+        ));
+
+        assertEquals(5, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals(validLength, Files.size(journalPath));
+
+        newFileBackedTaskManager.createTask(new Task("Title", "Description"));
+        newFileBackedTaskManager.close();
+
+        FileBackedTaskManager restoredTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath, StorageMode.JOURNAL)
+        );
+
+        assertEquals(6, restoredTaskManager.getAllTasks().size());
+    }
+
+    @Test
+    void stopJournalReplayAtCorruptedRecord() throws IOException {
+        FileBackedTaskManager journaledTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.JOURNAL, 3)
+        );
+        Path journalPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".journal");
+        Path corruptedPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".corrupt");
+
+        for (int i = 0; i < 6; i++) {
+            journaledTaskManager.createTask(new Task("Title", "Description"));
+        }
+
+        journaledTaskManager.close();
+        List<String> journalRecords = Files.readAllLines(journalPath, UTF_8);
+        String snapshot = Files.readString(tempFilePath, UTF_8);
+        journalRecords.set(1, journalRecords.get(1).replace(",TASK,", ",TASX,"));
+        Files.write(journalPath, journalRecords, UTF_8);
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.JOURNAL
+        ));
+
+        assertEquals(4, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals(journalRecords.subList(0, 1), Files.readAllLines(journalPath, UTF_8));
+        assertEquals(snapshot, Files.readString(tempFilePath, UTF_8));
+        assertFalse(Files.exists(corruptedPath));
+
+        newFileBackedTaskManager.createTask(new Task("Title", "Description"));
+        newFileBackedTaskManager.close();
+
+        FileBackedTaskManager restoredTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath, StorageMode.JOURNAL)
+        );
+
+        assertEquals(5, restoredTaskManager.getAllTasks().size());
+    }
+
+    @Test
+    void compactJournalIntoSnapshot() {
+        FileBackedTaskManager journaledTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.JOURNAL, 3)
+        );
+        Path journalPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".journal");
+        journaledTaskManager.createTask(new Task("Title", "Description"));
+        journaledTaskManager.createTask(new Task("Title", "Description"));
+
+        assertTrue(Files.exists(journalPath));
+
+        journaledTaskManager.createTask(new Task("Title", "Description"));
+
+        assertFalse(Files.exists(journalPath));
+        FileBackedTaskManager restoredTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath, StorageMode.SNAPSHOT)
+        );
+
+        assertEquals(3, restoredTaskManager.getAllTasks().size());
+
+        journaledTaskManager.createTask(new Task("Title", "Description"));
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SNAPSHOT
+        ));
+
+        assertEquals(4, newFileBackedTaskManager.getAllTasks().size());
+        assertFalse(Files.exists(journalPath));
+    }
+
+    @Test
+    void coalesceJournalRecordsOfSameId() {
+        Task task = new Task("Title", "Description");
+        task.setId(1);
+        Task otherTask = new Task("Title", "Description");
+        otherTask.setId(2);
+        List<String> records = new ArrayList<>();
+        records.add(TaskJournal.putRecord(task));
+        records.add(TaskJournal.putRecord(otherTask));
+        task.setTitle("Updated title");
+        records.add(TaskJournal.putRecord(task));
+        records.add(TaskJournal.deleteRecord(2));
+        records.add(TaskJournal.clearRecord(TaskType.TASK));
+        records.add(TaskJournal.putRecord(otherTask));
+        records.add(TaskJournal.putRecord(otherTask));
+
+        List<String> coalescedRecords = TaskJournal.coalesce(records);
+
+        assertEquals(List.of(
+                TaskJournal.putRecord(task),
+                TaskJournal.deleteRecord(2),
+                TaskJournal.clearRecord(TaskType.TASK),
+                TaskJournal.putRecord(otherTask)
+        ), coalescedRecords);
+
+        Map<Integer, Task> anyTasks = new HashMap<>();
+        Map<Integer, Task> coalescedAnyTasks = new HashMap<>();
+        records.forEach(record -> TaskJournal.apply(record, anyTasks));
+        coalescedRecords.forEach(record -> TaskJournal.apply(record, coalescedAnyTasks));
+
+        assertEquals(anyTasks.keySet(), coalescedAnyTasks.keySet());
+    }
+
+    @Test
+    void restoreManagerAfterGroupCommit() {
+        try (FileBackedTaskManager groupCommitTaskManager = Managers.getGroupCommitted(
+                tempFilePath,
+                16,
+                Duration.ofMillis(5),
+                SyncPolicy.PER_BATCH
+        )) {
+            for (int i = 0; i < 100; i++) {
+                groupCommitTaskManager.createTask(new Task("Title", "Description"));
+            }
+            Epic epic = new Epic("Title", "Description");
+            groupCommitTaskManager.createEpic(epic);
+            groupCommitTaskManager.createSubtask(new Subtask(
+                    "Title",
+                    "Description",
+                    TaskStatus.IN_PROGRESS,
+                    currentDate,
+                    Duration.ofMinutes(60),
+                    epic.getId()
+            ));
+            groupCommitTaskManager.whenDurable().join();
+
+            FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                    tempFilePath,
+                    StorageMode.JOURNAL
+            ));
+
+            assertEquals(100, newFileBackedTaskManager.getAllTasks().size());
+            assertEquals(1, newFileBackedTaskManager.getAllSubtasks().size());
+            assertEquals(TaskStatus.IN_PROGRESS, newFileBackedTaskManager.getAllEpics().getFirst().getStatus());
+        }
+    }
+
+    @Test
+    void restoreManagerFromBinarySnapshot() {
+        FileBackedTaskManager binaryTaskManager = closeAfterTest(new FileBackedTaskManager(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.BINARY
+        ));
+        Task task = new Task(
+                "Заголовок задачи",
+                null,
+                TaskStatus.IN_PROGRESS,
+                currentDate,
+                Duration.ofMinutes(60)
+        );
+        Task taskWithoutTime = new Task("Title", "Description");
+        Epic epic = new Epic("Title", "Description");
+        binaryTaskManager.createTask(task);
+        binaryTaskManager.createTask(taskWithoutTime);
+        binaryTaskManager.createEpic(epic);
+        Subtask subtask = new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.DONE,
+                currentDate.plusDays(1),
+                Duration.ofMinutes(120),
+                epic.getId()
+        );
+        binaryTaskManager.createSubtask(subtask);
+        binaryTaskManager.removeTaskById(taskWithoutTime.getId());
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(tempFilePath.toFile()))) {
+            assertEquals(BinarySnapshot.MAGIC, in.readInt());
+            assertEquals(BinarySnapshot.VERSION, in.readInt());
+            assertEquals(3, in.readInt());
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+        Task restoredTask = newFileBackedTaskManager.getTaskById(task.getId());
+        Epic restoredEpic = newFileBackedTaskManager.getEpicById(epic.getId());
+        Subtask restoredSubtask = newFileBackedTaskManager.getSubtaskById(subtask.getId());
+
+        assertEquals(1, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals(task.getTitle(), restoredTask.getTitle());
+        assertNull(restoredTask.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, restoredTask.getStatus());
+        assertEquals(task.getStartTime(), restoredTask.getStartTime());
+        assertEquals(task.getDuration(), restoredTask.getDuration());
+        assertEquals(TaskStatus.DONE, restoredEpic.getStatus());
+        assertEquals(subtask.getStartTime(), restoredEpic.getStartTime());
+        assertEquals(subtask.getEndTime(), restoredEpic.getEndTime());
+        assertEquals(List.of(subtask.getId()), restoredEpic.getSubtasksIds());
+        assertEquals(epic.getId(), restoredSubtask.getEpicId());
+        assertEquals(2, newFileBackedTaskManager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    void restoreManyTasksFromFileInOriginalOrder() {
+        FileBackedTaskManager journaledTaskManager = closeAfterTest(new FileBackedTaskManager(
+                tempFilePath,
+                StorageMode.JOURNAL,
+                Integer.MAX_VALUE
+        ));
+        Epic epic = new Epic("Title", "Description");
+        journaledTaskManager.createEpic(epic);
+
+        for (int i = 0; i < 1_000; i++) {
+            journaledTaskManager.createTask(new Task(
+                    "Задача " + i,
+                    "Description",
+                    TaskStatus.NEW,
+                    currentDate.minusHours(i),
+                    Duration.ofMinutes(30)
+            ));
+            journaledTaskManager.createSubtask(new Subtask(
+                    "Подзадача " + i,
+                    "Description",
+                    TaskStatus.DONE,
+                    currentDate.plusHours(i + 1),
+                    Duration.ofMinutes(30),
+                    epic.getId()
+            ));
+        }
+
+        journaledTaskManager.close();
+        FileBackedTaskManager.loadFromFile(tempFilePath).close();
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals(journaledTaskManager.getAllTasks(), newFileBackedTaskManager.getAllTasks());
+        assertEquals(journaledTaskManager.getAllSubtasks(), newFileBackedTaskManager.getAllSubtasks());
+        assertEquals(journaledTaskManager.getPrioritizedTasks(), newFileBackedTaskManager.getPrioritizedTasks());
+        assertEquals(
+                journaledTaskManager.getAllTasks().getLast().getTitle(),
+                newFileBackedTaskManager.getAllTasks().getLast().getTitle()
+        );
+        assertEquals(TaskStatus.DONE, newFileBackedTaskManager.getEpicById(epic.getId()).getStatus());
+        assertEquals(1_000, newFileBackedTaskManager.getEpicById(epic.getId()).getSubtasksIds().size());
+    }
+
+    @Test
+    void restoreTasksWithSeparatorsInTextFields() {
+        Task task = new Task("Title, with comma", "First line\nSecond, \"line\"");
+        Epic epic = new Epic("\"Epic\"", "Description");
+        taskManager.createTask(task);
+        taskManager.createEpic(epic);
+
+        FileBackedTaskManager journaledTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.JOURNAL
+        ));
+        Task journaledTask = new Task("Journal,\ntitle", null);
+        journaledTaskManager.createTask(journaledTask);
+        journaledTaskManager.close();
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals(3, newFileBackedTaskManager.getAllTasks().size() + newFileBackedTaskManager.getAllEpics().size());
+        assertEquals(task.getTitle(), newFileBackedTaskManager.getTaskById(task.getId()).getTitle());
+        assertEquals(task.getDescription(), newFileBackedTaskManager.getTaskById(task.getId()).getDescription());
+        assertEquals(epic.getTitle(), newFileBackedTaskManager.getEpicById(epic.getId()).getTitle());
+        assertEquals(journaledTask.getTitle(), newFileBackedTaskManager.getTaskById(journaledTask.getId()).getTitle());
+    }
+
+    @Test
+    void journalOnlyChangedRecords() throws IOException {
+        FileBackedTaskManager journaledTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.JOURNAL, 2)
+        );
+        Path journalPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".journal");
+        Epic epic = new Epic("Title", "Description");
+        journaledTaskManager.createEpic(epic);
+        journaledTaskManager.createSubtask(new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(30),
+                epic.getId()
+        ));
+
+        assertFalse(Files.exists(journalPath));
+
+        for (int i = 0; i < 8; i++) {
+            journaledTaskManager.createTask(new Task("Title", "Description"));
+        }
+
+        assertEquals(8, Files.readAllLines(journalPath, UTF_8).size());
+
+        Task task = journaledTaskManager.getAllTasks().getFirst();
+        task.setTitle("NewTitle");
+        journaledTaskManager.updateTask(task);
+        List<String> journalRecords = Files.readAllLines(journalPath, UTF_8);
+
+        assertEquals(9, journalRecords.size());
+        assertTrue(journalRecords.getLast().startsWith("PUT," + task.getId() + ",TASK,NewTitle"));
+
+        journaledTaskManager.removeEpicById(epic.getId());
+
+        assertFalse(Files.exists(journalPath));
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals("NewTitle", newFileBackedTaskManager.getTaskById(task.getId()).getTitle());
+        assertTrue(newFileBackedTaskManager.getAllEpics().isEmpty());
+        assertTrue(newFileBackedTaskManager.getAllSubtasks().isEmpty());
+    }
+
+    @Test
+    void restoreManagerFromCompactedSegments() throws IOException {
+        FileBackedTaskManager segmentedTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.SEGMENTED, 2)
+        );
+        Path segmentsPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".segments");
+
+        for (int i = 0; i < 12; i++) {
+            segmentedTaskManager.createTask(new Task("Title", "Description"));
+        }
+
+        Task task = segmentedTaskManager.getAllTasks().getFirst();
+        task.setTitle("NewTitle");
+        segmentedTaskManager.updateTask(task);
+        segmentedTaskManager.removeTaskById(segmentedTaskManager.getAllTasks().getLast().getId());
+        segmentedTaskManager.close();
+
+        List<String> manifest = Files.readAllLines(segmentsPath.resolve("MANIFEST"), UTF_8);
+        List<String> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(segmentsPath, "segment-*.log")) {
+            files.forEach(file -> segments.add(file.getFileName().toString()));
+        }
+
+        assertEquals(0, tempFilePath.toFile().length());
+        assertTrue(segments.size() < 7);
+        assertEquals(new HashSet<>(segments), new HashSet<>(manifest.subList(1, manifest.size())));
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SEGMENTED
+        ));
+
+        assertEquals(11, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals("NewTitle", newFileBackedTaskManager.getTaskById(task.getId()).getTitle());
+        newFileBackedTaskManager.close();
+    }
+
+    @Test
+    void stopSegmentsReplayAtCorruptedRecord() throws IOException {
+        FileBackedTaskManager segmentedTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.SEGMENTED, 2)
+        );
+        Path segmentsPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".segments");
+
+        for (int i = 0; i < 5; i++) {
+            segmentedTaskManager.createTask(new Task("Title", "Description"));
+        }
+
+        segmentedTaskManager.close();
+        List<String> manifest = Files.readAllLines(segmentsPath.resolve("MANIFEST"), UTF_8);
+        Path corruptedSegment = segmentsPath.resolve(manifest.get(2));
+        List<String> segmentRecords = Files.readAllLines(corruptedSegment, UTF_8);
+        segmentRecords.set(0, segmentRecords.getFirst().replace(",TASK,", ",TASX,"));
+        Files.write(corruptedSegment, segmentRecords, UTF_8);
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SEGMENTED
+        ));
+
+        assertEquals(2, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals(manifest.subList(0, 3), Files.readAllLines(segmentsPath.resolve("MANIFEST"), UTF_8));
+        assertEquals(0, Files.size(corruptedSegment));
+
+        newFileBackedTaskManager.createTask(new Task("Title", "Description"));
+        newFileBackedTaskManager.close();
+
+        FileBackedTaskManager restoredTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath, StorageMode.SEGMENTED)
+        );
+
+        assertEquals(3, restoredTaskManager.getAllTasks().size());
+    }
+
+    @Test
+    void truncateTornTailOfActiveSegment() throws IOException {
+        FileBackedTaskManager segmentedTaskManager = closeAfterTest(
+                new FileBackedTaskManager(tempFilePath, StorageMode.SEGMENTED)
+        );
+        Path segmentsPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".segments");
+        segmentedTaskManager.createTask(new Task("Title", "Description"));
+        segmentedTaskManager.createTask(new Task("Title", "Description"));
+        segmentedTaskManager.close();
+
+        List<String> manifest = Files.readAllLines(segmentsPath.resolve("MANIFEST"), UTF_8);
+        Path activeSegment = segmentsPath.resolve(manifest.getLast());
+        long validLength = Files.size(activeSegment);
+        Files.writeString(activeSegment, "PUT,3,TASK,\"Title", UTF_8, StandardOpenOption.APPEND);
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SEGMENTED
+        ));
+
+        assertEquals(2, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals(validLength, Files.size(activeSegment));
+
+        newFileBackedTaskManager.createTask(new Task("Title", "Description"));
+        newFileBackedTaskManager.close();
+
+        FileBackedTaskManager restoredTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath, StorageMode.SEGMENTED)
+        );
+
+        assertEquals(3, restoredTaskManager.getAllTasks().size());
+    }
+
+    @Test
+    void restorePreviousGenerationWhenChecksumMismatch() throws IOException {
+        Path previousPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".prev");
+        Path temporaryPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".tmp");
+        Task task = taskManager.createTask(new Task("Title", "Description"));
+        taskManager.createTask(new Task("Title", "Description"));
+
+        assertTrue(Files.exists(previousPath));
+        assertFalse(Files.exists(temporaryPath));
+
+        String content = Files.readString(tempFilePath, UTF_8);
+        Files.writeString(tempFilePath, content.replace("Description", "Descriptiom"), UTF_8);
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals(1, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals("Description", newFileBackedTaskManager.getTaskById(task.getId()).getDescription());
+
+        newFileBackedTaskManager.createTask(new Task("Title", "Description"));
+
+        assertEquals(2, closeAfterTest(FileBackedTaskManager.loadFromFile(tempFilePath)).getAllTasks().size());
+    }
+
+    @Test
+    void setAsideCorruptedFileWithoutValidGeneration() throws IOException {
+        Path previousPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".prev");
+        Path corruptedPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".corrupt");
+        taskManager.createTask(new Task("Title", "Description"));
+        Files.deleteIfExists(previousPath);
+        Files.writeString(tempFilePath, "id,type", UTF_8, StandardOpenOption.APPEND);
+
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(tempFilePath));
+        assertFalse(Files.exists(tempFilePath));
+        assertTrue(Files.readString(corruptedPath, UTF_8).endsWith("id,type"));
+    }
+
+    @Test
+    void restorePreviousGenerationWhenFormatInvalid() throws IOException {
+        Path checksumPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".checksum");
+        Path corruptedPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".corrupt");
+        Task task = taskManager.createTask(new Task("Title", "Description"));
+        taskManager.createTask(new Task("Title", "Description"));
+        String content = Files.readString(tempFilePath, UTF_8).replace(",NEW,", ",NEX,");
+        Files.writeString(tempFilePath, content, UTF_8);
+        CRC32C checksum = new CRC32C();
+        checksum.update(content.getBytes(UTF_8));
+        Files.writeString(
+                checksumPath,
+                Files.size(tempFilePath) + "," + Long.toHexString(checksum.getValue()) + "\n",
+                UTF_8,
+                StandardOpenOption.APPEND
+        );
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals(1, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals("Description", newFileBackedTaskManager.getTaskById(task.getId()).getDescription());
+        assertEquals(content, Files.readString(corruptedPath, UTF_8));
+
+        newFileBackedTaskManager.createTask(new Task("Title", "Description"));
+
+        assertEquals(2, closeAfterTest(FileBackedTaskManager.loadFromFile(tempFilePath)).getAllTasks().size());
+    }
+
+    @Test
+    void persistAsynchronouslyThroughBoundedQueue() {
+        try (FileBackedTaskManager asyncTaskManager = new FileBackedTaskManager(
+                Managers.getDefaultHistory(),
+                tempFilePath,
+                StorageMode.ASYNC,
+                10,
+                4,
+                16,
+                Duration.ofMillis(5),
+                SyncPolicy.PER_BATCH,
+                SnapshotFormat.CSV
+        )) {
+            for (int i = 0; i < 100; i++) {
+                asyncTaskManager.createTask(new Task("Title", "Description"));
+            }
+            Task task = asyncTaskManager.getAllTasks().getFirst();
+            task.setTitle("NewTitle");
+            asyncTaskManager.updateTask(task);
+            asyncTaskManager.flush();
+            PersistenceMetrics persistenceMetrics = asyncTaskManager.getPersistenceMetrics();
+
+            assertTrue(asyncTaskManager.awaitDurable(Duration.ofSeconds(1)));
+            assertEquals(0, persistenceMetrics.getQueueDepth());
+            assertEquals(0, persistenceMetrics.getPendingWrites());
+            assertEquals(Duration.ZERO, persistenceMetrics.getLag());
+            assertTrue(tempFilePath.toFile().length() > 0);
+
+            FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                    tempFilePath,
+                    StorageMode.JOURNAL
+            ));
+
+            assertEquals(100, newFileBackedTaskManager.getAllTasks().size());
+            assertEquals("NewTitle", newFileBackedTaskManager.getTaskById(task.getId()).getTitle());
+        }
+    }
+
+    @Test
+    void reportFailedBatchOnLaterFlush() throws IOException {
+        Path journalPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".journal");
+        Files.createDirectory(journalPath);
+
+        try (FileBackedTaskManager asyncTaskManager = Managers.getAsync(tempFilePath, 16, SyncPolicy.PER_BATCH)) {
+            asyncTaskManager.createTask(new Task("Title", "Description"));
+
+            assertThrows(CompletionException.class, () -> asyncTaskManager.whenDurable().join());
+
+            Files.delete(journalPath);
+            asyncTaskManager.createTask(new Task("Title", "Description"));
+
+            assertThrows(ManagerSaveException.class, asyncTaskManager::flush);
+            assertDoesNotThrow(asyncTaskManager::flush);
+            assertTrue(asyncTaskManager.awaitDurable(Duration.ofSeconds(1)));
+            assertDoesNotThrow(() -> asyncTaskManager.whenDurable().join());
+            assertEquals(1, Files.readAllLines(journalPath, UTF_8).size());
+        }
+    }
+
+    @Test
+    void restoreManagerFromCompressedSnapshot() throws IOException {
+        Path csvPath = Files.createTempFile("test", ".csv");
+        FileBackedTaskManager compressedTaskManager = closeAfterTest(new FileBackedTaskManager(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.COMPRESSED
+        ));
+        FileBackedTaskManager csvTaskManager = closeAfterTest(new FileBackedTaskManager(csvPath, StorageMode.SNAPSHOT));
+        Epic epic = new Epic("Title", "Description");
+        compressedTaskManager.createEpic(epic);
+        compressedTaskManager.createSubtask(new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.DONE,
+                currentDate,
+                Duration.ofMinutes(30),
+                epic.getId()
+        ));
+
+        for (int i = 0; i < 3000; i++) {
+            Task task = new Task("Title " + i, "Description, " + i, TaskStatus.NEW, null, null);
+            compressedTaskManager.createTask(task);
+            csvTaskManager.createTask(task);
+        }
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(tempFilePath.toFile()))) {
+            assertEquals(CompressedSnapshot.MAGIC, in.readInt());
+        }
+
+        assertTrue(Files.size(tempFilePath) * 4 < Files.size(csvPath));
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals(3000, newFileBackedTaskManager.getAllTasks().size());
+        assertEquals("Description, 2999", newFileBackedTaskManager.getAllTasks().getLast().getDescription());
+        assertEquals(TaskStatus.DONE, newFileBackedTaskManager.getEpicById(epic.getId()).getStatus());
+        assertEquals(
+                currentDate.plusMinutes(30).withNano(0),
+                newFileBackedTaskManager.getAllSubtasks().getFirst().getEndTime().withNano(0)
+        );
+    }
+
+    @Test
+    void removeTemporaryFileWhenSnapshotWriteFails() throws IOException {
+        Path temporaryPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".tmp");
+        SnapshotGenerations snapshotGenerations = new SnapshotGenerations(tempFilePath);
+        long size = Files.size(tempFilePath);
+
+        assertThrows(IOException.class, () -> snapshotGenerations.write(outputStream -> {
+            outputStream.write(1);
+            throw new IOException("Нет места на диске");
+        }));
+        assertFalse(Files.exists(temporaryPath));
+        assertEquals(size, Files.size(tempFilePath));
+    }
+
+    @Test
+    void detectCorruptedCompressedBlock() throws IOException {
+        FileBackedTaskManager compressedTaskManager = closeAfterTest(new FileBackedTaskManager(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.COMPRESSED
+        ));
+        compressedTaskManager.createTask(new Task("Title", "Description"));
+        Files.delete(tempFilePath.resolveSibling(tempFilePath.getFileName() + ".checksum"));
+
+        byte[] content = Files.readAllBytes(tempFilePath);
+        content[CompressedSnapshot.HEADER_SIZE + CompressedSnapshot.BLOCK_HEADER_SIZE + 2] ^= 0x10;
+        Files.write(tempFilePath, content);
+
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(tempFilePath));
+    }
+
+    @Test
+    void loadTaskTextLazilyFromBinarySnapshot() {
+        FileBackedTaskManager binaryTaskManager = closeAfterTest(new FileBackedTaskManager(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.BINARY
+        ));
+        Epic epic = new Epic("Epic", "Epic description");
+        binaryTaskManager.createEpic(epic);
+        Subtask subtask = binaryTaskManager.createSubtask(new Subtask(
+                "Subtask",
+                null,
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(30),
+                epic.getId()
+        ));
+
+        for (int i = 0; i < 10; i++) {
+            binaryTaskManager.createTask(new Task("Title " + i, "Description " + i));
+        }
+
+        FileBackedTaskManager lazyTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.BINARY,
+                LoadMode.LAZY
+        ));
+        List<Task> tasks = lazyTaskManager.getAllTasks();
+
+        assertEquals(10, tasks.size());
+        assertEquals("Title 9", tasks.getLast().getTitle());
+        assertEquals("Description 9", tasks.getLast().getDescription());
+        assertEquals("Epic description", lazyTaskManager.getEpicById(epic.getId()).getDescription());
+        assertNull(lazyTaskManager.getSubtaskById(subtask.getId()).getDescription());
+        assertFalse(tasks.getLast().isTextLoaded());
+        assertFalse(lazyTaskManager.getReadView().getTasks().getLast().isTextLoaded());
+
+        Task task = tasks.getFirst();
+        task.setTitle("NewTitle");
+        lazyTaskManager.updateTask(task);
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals("NewTitle", newFileBackedTaskManager.getTaskById(task.getId()).getTitle());
+        assertEquals("Description 0", newFileBackedTaskManager.getTaskById(task.getId()).getDescription());
+        assertEquals("Title 9", newFileBackedTaskManager.getAllTasks().getLast().getTitle());
+    }
+
+    @Test
+    void rejectLazyLoadOfTextSnapshot() {
+        assertThrows(IllegalArgumentException.class, () -> FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.CSV,
+                LoadMode.LAZY
+        ));
+        assertThrows(IllegalArgumentException.class, () -> FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.COMPRESSED,
+                LoadMode.LAZY
+        ));
+    }
+
+    @Test
+    void detachLazyTextFromRewrittenSnapshot() throws IOException {
+        Path previousPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".prev");
+        FileBackedTaskManager binaryTaskManager = closeAfterTest(new FileBackedTaskManager(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.BINARY
+        ));
+        Task task = binaryTaskManager.createTask(new Task("Title", "Description"));
+        Map<Integer, Task> anyTasks = new HashMap<>();
+        BinaryTextSource textSource = BinarySnapshot.read(tempFilePath, anyTasks, LoadMode.LAZY, 16);
+        FileBackedTaskManager lazyTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(
+                tempFilePath,
+                StorageMode.SNAPSHOT,
+                SnapshotFormat.BINARY,
+                LoadMode.LAZY
+        ));
+
+        textSource.detach();
+        lazyTaskManager.createTask(new Task("Title", "Description"));
+
+        try (FileChannel channel = FileChannel.open(previousPath, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate((int) channel.size()), 0);
+        }
+
+        assertEquals("Title", anyTasks.get(task.getId()).getTitle());
+        assertEquals("Description", anyTasks.get(task.getId()).getDescription());
+        assertEquals("Title", lazyTaskManager.getTaskById(task.getId()).getTitle());
+        assertEquals("Description", lazyTaskManager.getTaskById(task.getId()).getDescription());
+    }
+
+    @Test
+    void restoreHistoryAfterRestart() {
+        Task firstTask = taskManager.createTask(new Task("Title", "Description"));
+        Task secondTask = taskManager.createTask(new Task("Title", "Description"));
+        Epic epic = new Epic("Title", "Description");
+        taskManager.createEpic(epic);
+        taskManager.getTaskById(firstTask.getId());
+        taskManager.getEpicById(epic.getId());
+        taskManager.getTaskById(secondTask.getId());
+        taskManager.getTaskById(firstTask.getId());
+        taskManager.removeTaskById(secondTask.getId());
+        taskManager.close();
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals(
+                List.of(epic.getId(), firstTask.getId()),
+                newFileBackedTaskManager.getHistory().stream().map(Task::getId).toList()
+        );
+    }
+
+    @Test
+    void forgetRemovedTaskInHistoryAfterRestart() {
+        Task firstTask = taskManager.createTask(new Task("Title", "Description"));
+        Task secondTask = taskManager.createTask(new Task("Title", "Description"));
+        taskManager.getTaskById(firstTask.getId());
+        taskManager.getTaskById(secondTask.getId());
+        taskManager.removeTaskById(secondTask.getId());
+        taskManager.close();
+
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+        newFileBackedTaskManager.createTask(new Task("Title", "Description"));
+        newFileBackedTaskManager.close();
+
+        FileBackedTaskManager restoredTaskManager = closeAfterTest(FileBackedTaskManager.loadFromFile(tempFilePath));
+
+        assertEquals(
+                List.of(firstTask.getId()),
+                restoredTaskManager.getHistory().stream().map(Task::getId).toList()
+        );
+    }
+
+    @Test
+    void reportHistoryWriteFailureOnFlush() throws IOException {
+        Path historyPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".history");
+        Task task = taskManager.createTask(new Task("Title", "Description"));
+        Files.createDirectory(historyPath);
+
+        try {
+            assertEquals(task, taskManager.getTaskById(task.getId()));
+            assertThrows(ManagerSaveException.class, () -> taskManager.flush());
+            assertDoesNotThrow(() -> taskManager.flush());
+        } finally {
+            Files.delete(historyPath);
+        }
+    }
+
+    @Test
+    void reportHistoryWriteFailureOnClose() throws IOException {
+        Path historyPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".history");
+        Task task = taskManager.createTask(new Task("Title", "Description"));
+        Files.createDirectory(historyPath);
+
+        try {
+            assertEquals(task, taskManager.getTaskById(task.getId()));
+            assertThrows(ManagerSaveException.class, () -> taskManager.close());
+        } finally {
+            Files.delete(historyPath);
+        }
+    }
+
+    @Test
+    void bufferHistoryViewsUntilFlush() throws IOException {
+        Path historyPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".history");
+        Task task = taskManager.createTask(new Task("Title", "Description"));
+        taskManager.getTaskById(task.getId());
+
+        assertTrue(Files.notExists(historyPath));
+
+        taskManager.flush();
+
+        assertEquals(1, Files.readAllLines(historyPath, UTF_8).size());
+    }
+
+    @Test
+    void restoreHistoryPartitionsAfterRestart() {
+        Task firstTask = taskManager.createTask(new Task("Title", "Description"));
+        Task secondTask = taskManager.createTask(new Task("Title", "Description"));
+        taskManager.close();
+
+        try {
+            FileBackedTaskManager partitionedTaskManager = closeAfterTest(
+                    Managers.loadPartitioned(tempFilePath, 4, 10)
+            );
+            HistoryPartition.set("first, client");
+            partitionedTaskManager.getTaskById(firstTask.getId());
+            partitionedTaskManager.getTaskById(secondTask.getId());
+            HistoryPartition.set("second");
+            partitionedTaskManager.getTaskById(secondTask.getId());
+            partitionedTaskManager.removeTaskById(firstTask.getId());
+            partitionedTaskManager.close();
+
+            FileBackedTaskManager newPartitionedTaskManager = closeAfterTest(
+                    Managers.loadPartitioned(tempFilePath, 4, 10)
+            );
+
+            assertEquals(
+                    List.of(secondTask.getId()),
+                    newPartitionedTaskManager.getHistory().stream().map(Task::getId).toList()
+            );
+
+            HistoryPartition.set("first, client");
+
+            assertEquals(
+                    List.of(secondTask.getId()),
+                    newPartitionedTaskManager.getHistory().stream().map(Task::getId).toList()
+            );
+
+            HistoryPartition.clear();
+
+            assertTrue(newPartitionedTaskManager.getHistory().isEmpty());
+            newPartitionedTaskManager.close();
+        } finally {
+            HistoryPartition.clear();
+        }
+    }
+
+    @Test
+    void compactHistoryLogWhenItExceedsBound() throws IOException {
+        Path historyPath = tempFilePath.resolveSibling(tempFilePath.getFileName() + ".history");
+        Task firstTask = taskManager.createTask(new Task("Title", "Description"));
+        Task secondTask = taskManager.createTask(new Task("Title", "Description"));
+
+        for (int i = 0; i < 2_500; i++) {
+            taskManager.getTaskById(i % 2 == 0 ? secondTask.getId() : firstTask.getId());
+        }
+
+        taskManager.close();
+
+        assertTrue(Files.readAllLines(historyPath, UTF_8).size() <= 1_000);
+
+        Files.writeString(historyPath, "broken\n" + secondTask.getId() + ",1\n7", UTF_8, StandardOpenOption.APPEND);
+        FileBackedTaskManager newFileBackedTaskManager = closeAfterTest(
+                FileBackedTaskManager.loadFromFile(tempFilePath)
+        );
+
+        assertEquals(
+                List.of(firstTask.getId(), secondTask.getId()),
+                newFileBackedTaskManager.getHistory().stream().map(Task::getId).toList()
+        );
+    }
+
+    private FileBackedTaskManager closeAfterTest(FileBackedTaskManager fileBackedTaskManager) {
+        openedManagers.add(fileBackedTaskManager);
+        return fileBackedTaskManager;
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdHistoryManagerTest {
+    private static final LocalDateTime currentDate = LocalDateTime.now();
+    private IdHistoryManager idHistoryManager;
+
+    @BeforeEach
+    void createNewIdHistoryManager() {
+        idHistoryManager = new IdHistoryManager(3);
+    }
+
+    @Test
+    void requireTaskResolver() {
+        Task task = new Task("Title", "Description");
+        task.setId(1);
+        idHistoryManager.add(task);
+
+        assertThrows(IllegalStateException.class, () -> idHistoryManager.getHistory());
+    }
+
+    @Test
+    void resolveCurrentTasksWithTheirSubtypes() {
+        TaskManager taskManager = new InMemoryTaskManager(idHistoryManager);
+        Task task = new Task("Title", "Description");
+        Epic epic = new Epic("Title", "Description");
+        taskManager.createTask(task);
+        taskManager.createEpic(epic);
+        Subtask subtask = new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(60),
+                epic.getId()
+        );
+        taskManager.createSubtask(subtask);
+        taskManager.getSubtaskById(subtask.getId());
+        taskManager.getEpicById(epic.getId());
+        taskManager.getTaskById(task.getId());
+        subtask.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+        List<Task> history = taskManager.getHistory();
+
+        assertEquals(3, history.size());
+        assertEquals(subtask, history.getFirst());
+        assertEquals(Subtask.class, history.getFirst().getClass());
+        assertEquals(epic.getId(), ((Subtask) history.getFirst()).getEpicId());
+        assertEquals(TaskStatus.DONE, history.getFirst().getStatus());
+        assertEquals(Epic.class, history.get(1).getClass());
+        assertEquals(TaskStatus.DONE, history.get(1).getStatus());
+        assertEquals(Task.class, history.get(2).getClass());
+    }
+
+    @Test
+    void evictAndPageThroughIds() {
+        TaskManager taskManager = new ConcurrentTaskManager(idHistoryManager);
+
+        for (int i = 0; i < 4; i++) {
+            Task task = new Task("Title" + i, "Description");
+            taskManager.createTask(task);
+            taskManager.getTaskById(task.getId());
+        }
+
+        List<Task> history = taskManager.getHistory();
+
+        assertEquals(List.of("Title1", "Title2", "Title3"), history.stream().map(Task::getTitle).toList());
+        assertEquals(history.subList(1, 3), taskManager.getHistory(1, 5));
+
+        taskManager.removeTaskById(history.get(1).getId());
+
+        assertEquals(List.of(history.getFirst(), history.getLast()), taskManager.getHistory());
+    }
+}
\ No newline at end of file
@@ -15,4 +15,22 @@ class ManagersTest {
     void getNotNullDefaultHistoryManager() {
         assertNotNull(Managers.getDefaultHistory());
     }
+
+    @Test
+    void getBoundedHistoryManager() {
+        HistoryManager historyManager = Managers.getBoundedHistory(10);
+
+        assertNotNull(historyManager);
+        assertEquals(10, ((BoundedHistoryManager) historyManager).getCapacity());
+    }
+
+    @Test
+    void wrapOnlyNotThreadSafeTaskManager() {
+        TaskManager concurrentTaskManager = new ConcurrentTaskManager();
+        TaskManager synchronizedTaskManager = Managers.getSynchronized(new InMemoryTaskManager());
+
+        assertSame(concurrentTaskManager, Managers.getSynchronized(concurrentTaskManager));
+        assertEquals(SynchronizedTaskManager.class, synchronizedTaskManager.getClass());
+        assertSame(synchronizedTaskManager, Managers.getSynchronized(synchronizedTaskManager));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package service;
+
+import model.Task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedHistoryManagerTest {
+    private PartitionedHistoryManager partitionedHistoryManager;
+
+    @BeforeEach
+    void createNewPartitionedHistoryManager() {
+        partitionedHistoryManager = new PartitionedHistoryManager(2, 2);
+    }
+
+    @AfterEach
+    void clearHistoryPartition() {
+        HistoryPartition.clear();
+    }
+
+    @Test
+    void keepSeparateHistoryForEachClient() {
+        HistoryPartition.set("first");
+        partitionedHistoryManager.add(createTask(1));
+        partitionedHistoryManager.add(createTask(2));
+        partitionedHistoryManager.add(createTask(3));
+        HistoryPartition.set("second");
+        partitionedHistoryManager.add(createTask(3));
+
+        assertEquals(List.of(3), historyIds());
+
+        HistoryPartition.set("first");
+
+        assertEquals(List.of(2, 3), historyIds());
+
+        HistoryPartition.set("third");
+
+        assertTrue(partitionedHistoryManager.getHistory().isEmpty());
+        assertEquals(2, partitionedHistoryManager.getPartitionsCount());
+    }
+
+    @Test
+    void removeTaskFromEveryPartition() {
+        partitionedHistoryManager.add("first", createTask(1));
+        partitionedHistoryManager.add("second", createTask(1));
+        partitionedHistoryManager.add("second", createTask(2));
+        partitionedHistoryManager.remove(1);
+
+        assertTrue(partitionedHistoryManager.getHistory("first").isEmpty());
+        assertEquals(List.of(2), partitionedHistoryManager.getHistory("second").stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedPartition() {
+        partitionedHistoryManager.add("first", createTask(1));
+        partitionedHistoryManager.add("second", createTask(2));
+        partitionedHistoryManager.getHistory("first");
+        partitionedHistoryManager.add("third", createTask(3));
+
+        assertEquals(2, partitionedHistoryManager.getPartitionsCount());
+        assertEquals(List.of(1), partitionedHistoryManager.getHistory("first").stream().map(Task::getId).toList());
+        assertTrue(partitionedHistoryManager.getHistory("second").isEmpty());
+        assertEquals(List.of(3), partitionedHistoryManager.getHistory("third").stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void recordHistoryConcurrentlyForDifferentClients() throws Exception {
+        PartitionedHistoryManager historyManager = new PartitionedHistoryManager(8, 16);
+        List<Future<List<Task>>> histories = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int client = 0; client < 8; client++) {
+                String key = "client-" + client;
+
+                histories.add(executor.submit(() -> {
+                    HistoryPartition.set(key);
+
+                    try {
+                        for (int id = 0; id < 10_000; id++) {
+                            historyManager.add(createTask(id % 32));
+                        }
+
+                        return historyManager.getHistory();
+                    } finally {
+                        HistoryPartition.clear();
+                    }
+                }));
+            }
+
+            for (Future<List<Task>> history : histories) {
+                List<Integer> expectedIds = new ArrayList<>();
+
+                for (int id = 0; id < 16; id++) {
+                    expectedIds.add(id);
+                }
+
+                assertEquals(expectedIds, history.get().stream().map(Task::getId).toList());
+            }
+        }
+    }
+
+    @Test
+    void readOtherPartitionWhileAddingToBusyPartition() throws Exception {
+        CountDownLatch addStarted = new CountDownLatch(1);
+        CountDownLatch addReleased = new CountDownLatch(1);
+        Task blockingTask = new Task("Title", "Description") {
+            @Override
+            public int getId() {
+                addStarted.countDown();
+
+                try {
+                    addReleased.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return 1;
+            }
+        };
+        partitionedHistoryManager.add("second", createTask(2));
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> blockedAdd = executor.submit(() -> partitionedHistoryManager.add("first", blockingTask));
+
+            try {
+                assertTrue(addStarted.await(5, TimeUnit.SECONDS));
+
+                Future<List<Task>> history = CompletableFuture.supplyAsync(
+                        () -> partitionedHistoryManager.getHistory("second")
+                );
+
+                assertEquals(List.of(2), history.get(5, TimeUnit.SECONDS).stream().map(Task::getId).toList());
+            } finally {
+                addReleased.countDown();
+            }
+
+            blockedAdd.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void keepPartitionsLimitWhenClientsChurnConcurrently() throws Exception {
+        PartitionedHistoryManager historyManager = new PartitionedHistoryManager(4, 4);
+        List<Future<?>> clients = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int client = 0; client < 8; client++) {
+                int firstKey = client;
+
+                clients.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        String key = "client-" + (firstKey + i) % 32;
+
+                        historyManager.add(key, createTask(i % 8));
+                        historyManager.getHistory(key);
+                    }
+                }));
+            }
+
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        }
+
+        assertEquals(4, historyManager.getPartitionsCount());
+    }
+
+    private List<Integer> historyIds() {
+        return partitionedHistoryManager.getHistory().stream().map(Task::getId).toList();
+    }
+
+    private static Task createTask(int id) {
+        Task task = new Task("Title", "Description");
+        task.setId(id);
+
+        return task;
+    }
+}
\ No newline at end of file
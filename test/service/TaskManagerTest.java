@@ -881,6 +881,66 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(TaskStatus.NEW, taskManager.getEpicById(epic.getId()).getStatus());
     }
 
+    @Test
+    void calculateEpicDatesAndDuration() {
+        Epic epic = new Epic("Title", "Description");
+        taskManager.createEpic(epic);
+        Subtask firstSubtask = new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(60),
+                epic.getId()
+        );
+        Subtask secondSubtask = new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                null,
+                null,
+                epic.getId()
+        );
+        Subtask thirdSubtask = new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate.plusDays(2),
+                Duration.ofMinutes(180),
+                epic.getId()
+        );
+        taskManager.createSubtask(firstSubtask);
+        taskManager.createSubtask(secondSubtask);
+        taskManager.createSubtask(thirdSubtask);
+        Epic epicInManager = taskManager.getEpicById(epic.getId());
+
+        assertEquals(currentDate, epicInManager.getStartTime());
+        assertEquals(currentDate.plusDays(2).plusMinutes(180), epicInManager.getEndTime());
+        assertEquals(240, epicInManager.getDuration().toMinutes());
+
+        firstSubtask.setStartTime(currentDate.plusDays(3));
+        taskManager.updateSubtask(firstSubtask);
+        epicInManager = taskManager.getEpicById(epic.getId());
+
+        assertEquals(currentDate.plusDays(2), epicInManager.getStartTime());
+        assertEquals(currentDate.plusDays(3).plusMinutes(60), epicInManager.getEndTime());
+        assertEquals(240, epicInManager.getDuration().toMinutes());
+
+        taskManager.removeSubtaskById(firstSubtask.getId());
+        epicInManager = taskManager.getEpicById(epic.getId());
+
+        assertEquals(currentDate.plusDays(2), epicInManager.getStartTime());
+        assertEquals(currentDate.plusDays(2).plusMinutes(180), epicInManager.getEndTime());
+        assertEquals(180, epicInManager.getDuration().toMinutes());
+
+        taskManager.removeSubtaskById(thirdSubtask.getId());
+        epicInManager = taskManager.getEpicById(epic.getId());
+
+        assertNull(epicInManager.getStartTime());
+        assertNull(epicInManager.getEndTime());
+        assertEquals(0, epicInManager.getDuration().toMinutes());
+    }
+
     @Test
     void getHistory() {
         Task task = new Task(
@@ -973,6 +1033,23 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertTrue(history.isEmpty());
     }
 
+    @Test
+    void getHistoryPage() {
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task("Title", "Description");
+            taskManager.createTask(task);
+            taskManager.getTaskById(task.getId());
+        }
+
+        List<Task> history = taskManager.getHistory();
+
+        assertEquals(history.subList(0, 2), taskManager.getHistory(0, 2));
+        assertEquals(history.subList(2, 4), taskManager.getHistory(2, 2));
+        assertEquals(history.subList(4, 5), taskManager.getHistory(4, 2));
+        assertTrue(taskManager.getHistory(5, 2).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getHistory(-1, 2));
+    }
+
     @Test
     void twoTasksNotOverlapIfFirstTaskEndsEarlierThenSecondTaskStarts() {
         Task firstTask = new Task(
@@ -1184,4 +1261,126 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(firstTask, prioritizedTasks.get(1));
         assertEquals(thirdTask, prioritizedTasks.getLast());
     }
+
+    @Test
+    void detectOverlapWithNeighbourTasksOnly() {
+        Task firstTask = new Task(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate,
+                Duration.ofMinutes(60)
+        );
+        Task secondTask = new Task(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate.plusHours(2),
+                Duration.ofMinutes(60)
+        );
+        Task thirdTask = new Task(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate.plusHours(4),
+                Duration.ofMinutes(60)
+        );
+        Task taskBetweenFirstAndSecond = new Task(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate.plusMinutes(70),
+                Duration.ofMinutes(30)
+        );
+        Task taskOverlapSecond = new Task(
+                "Title",
+                "Description",
+                TaskStatus.NEW,
+                currentDate.plusMinutes(150),
+                Duration.ofMinutes(60)
+        );
+        taskManager.createTask(firstTask);
+        taskManager.createTask(thirdTask);
+        taskManager.createTask(secondTask);
+        taskManager.createTask(taskBetweenFirstAndSecond);
+
+        assertEquals(4, taskManager.getPrioritizedTasks().size());
+        assertThrows(OverlapException.class, () -> taskManager.createTask(taskOverlapSecond));
+
+        taskOverlapSecond.setId(firstTask.getId());
+
+        assertThrows(OverlapException.class, () -> taskManager.updateTask(taskOverlapSecond));
+
+        List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+
+        assertEquals(4, prioritizedTasks.size());
+        assertEquals(firstTask, prioritizedTasks.getFirst());
+        assertEquals(currentDate, prioritizedTasks.getFirst().getStartTime());
+        assertEquals(thirdTask, prioritizedTasks.getLast());
+    }
+
+    @Test
+    void getTasksPageByCursor() {
+        for (int i = 0; i < 5; i++) {
+            taskManager.createTask(new Task(
+                    "Title",
+                    "Description",
+                    TaskStatus.NEW,
+                    currentDate.minusHours(i),
+                    Duration.ofMinutes(30)
+            ));
+        }
+
+        List<Task> allTasks = taskManager.getAllTasks();
+        List<Task> firstPage = taskManager.getAllTasks(0, 2);
+        List<Task> secondPage = taskManager.getAllTasks(firstPage.getLast().getId(), 2);
+        List<Task> lastPage = taskManager.getAllTasks(secondPage.getLast().getId(), 2);
+
+        assertEquals(allTasks.subList(0, 2), firstPage);
+        assertEquals(allTasks.subList(2, 4), secondPage);
+        assertEquals(allTasks.subList(4, 5), lastPage);
+        assertTrue(taskManager.getAllTasks(lastPage.getLast().getId(), 2).isEmpty());
+
+        List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+        List<Task> firstPrioritizedPage = taskManager.getPrioritizedTasks(null, 3);
+
+        assertEquals(prioritizedTasks.subList(0, 3), firstPrioritizedPage);
+
+        Task cursor = firstPrioritizedPage.getLast();
+        taskManager.removeTaskById(cursor.getId());
+
+        assertEquals(prioritizedTasks.subList(3, 5), taskManager.getPrioritizedTasks(cursor, 3));
+    }
+
+    @Test
+    void getReadViewUntilNextChange() {
+        Task task = taskManager.createTask(new Task("Title", "Description"));
+        Epic epic = new Epic("Title", "Description");
+        taskManager.createEpic(epic);
+        ReadView readView = taskManager.getReadView();
+
+        assertSame(readView, taskManager.getReadView());
+        assertEquals(List.of(task), readView.getTasks());
+        assertEquals(List.of(epic), readView.getEpics());
+        assertTrue(readView.getSubtasks().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> readView.getTasks().clear());
+
+        taskManager.createSubtask(new Subtask(
+                "Title",
+                "Description",
+                TaskStatus.DONE,
+                currentDate,
+                Duration.ofMinutes(30),
+                epic.getId()
+        ));
+        ReadView newReadView = taskManager.getReadView();
+
+        assertNotSame(readView, newReadView);
+        assertTrue(newReadView.getVersion() > readView.getVersion());
+        assertEquals(1, newReadView.getSubtasks().size());
+        assertSame(readView.getTasks().getFirst(), newReadView.getTasks().getFirst());
+        assertEquals(TaskStatus.DONE, newReadView.getEpics().getFirst().getStatus());
+        assertTrue(readView.getSubtasks().isEmpty());
+        assertEquals(TaskStatus.NEW, readView.getEpics().getFirst().getStatus());
+    }
 }
\ No newline at end of file
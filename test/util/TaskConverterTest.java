@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,4 +94,44 @@ public class TaskConverterTest {
         assertThrows(IllegalArgumentException.class, () -> TaskConverter.anyTaskFromCsvString(thirdInvalidString));
         assertThrows(IllegalArgumentException.class, () -> TaskConverter.anyTaskFromCsvString(fourthInvalidString));
     }
+
+    @Test
+    void quoteSeparatorsInCsvString() {
+        Subtask subtask = new Subtask(
+                "Title, \"quoted\"",
+                "First line\nSecond line",
+                TaskStatus.DONE,
+                LocalDateTime.of(2001, 1, 14, 11, 0),
+                Duration.ofMinutes(60),
+                2
+        );
+        subtask.setId(3);
+        Task task = new Task("null", null);
+        task.setId(4);
+
+        String subtaskString = TaskConverter.anyTaskToCsvString(subtask);
+        String taskString = TaskConverter.anyTaskToCsvString(task);
+
+        assertEquals(
+                "3,SUBTASK,\"Title, \"\"quoted\"\"\",DONE,\"First line\nSecond line\","
+                        + "14.01.2001 11:00:00,60,14.01.2001 12:00:00,2",
+                subtaskString
+        );
+        assertEquals("4,TASK,\"null\",NEW,null,null,0,null", taskString);
+
+        Subtask subtaskFromString = (Subtask) TaskConverter.anyTaskFromCsvString(subtaskString);
+        Task taskFromString = TaskConverter.anyTaskFromCsvString(taskString);
+
+        assertEquals(subtask.getTitle(), subtaskFromString.getTitle());
+        assertEquals(subtask.getDescription(), subtaskFromString.getDescription());
+        assertEquals(subtask.getStartTime(), subtaskFromString.getStartTime());
+        assertEquals(subtask.getEpicId(), subtaskFromString.getEpicId());
+        assertEquals("null", taskFromString.getTitle());
+        assertNull(taskFromString.getDescription());
+        assertNull(taskFromString.getStartTime());
+
+        byte[] content = (subtaskString + "\r\n" + taskString + "\n").getBytes();
+
+        assertEquals(List.of(subtaskString, taskString), TaskConverter.splitCsvRecords(content, 0, content.length));
+    }
 }
\ No newline at end of file